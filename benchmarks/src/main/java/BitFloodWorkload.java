@@ -0,0 +1,56 @@
+import bench.Workload;
+
+/**
+ * Counts the cells of a maze that can be reached from its top left room with
+ * a BitFlood, which spreads over the passages packed 64 to a word.
+ *
+ * @author Michael Quested
+ * @version 1.1
+ * @date 2026/10/18
+ */
+public class BitFloodWorkload implements Workload {
+
+    private final String generator;
+    protected Maze maze;
+    private BitFlood flood;
+    private long reached;
+
+    /**
+     * Constructor for class BitFloodWorkload.
+     *
+     * @param generator The name of the generator, one of Generator.NAMES
+     */
+    public BitFloodWorkload(String generator) {
+        this.generator = generator;
+    }
+
+    @Override
+    public void prepare(int size, long seed) {
+        maze = new Maze(size, size, seed, Generator.create(generator));
+        flood = new BitFlood(maze);
+    }
+
+    @Override
+    public void beforeRun() {
+    }
+
+    /**
+     * Count the cells that can be reached from a cell.
+     *
+     * @return the number of cells reached
+     */
+    protected long countReachable(int from) {
+        return flood.countReachable(from);
+    }
+
+    @Override
+    public Object run() {
+        reached = countReachable(maze.getWidth() + 1);
+        return reached;
+    }
+
+    @Override
+    public long count() {
+        return reached;
+    }
+}
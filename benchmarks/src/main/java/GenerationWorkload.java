@@ -0,0 +1,37 @@
+import bench.Workload;
+
+/**
+ * Carves a RecursiveBacktracker maze into a cleared grid from a fixed seed.
+ *
+ * @author Michael Quested
+ * @version 1.1
+ * @date 2026/10/18
+ */
+public class GenerationWorkload implements Workload {
+
+    private RecursiveBacktracker maze;
+    private long seed;
+
+    @Override
+    public void prepare(int size, long seed) {
+        this.seed = seed;
+        maze = new RecursiveBacktracker(size, size, seed);
+    }
+
+    @Override
+    public void beforeRun() {
+        maze.clearPassages();
+        maze.setSeed(seed);
+    }
+
+    @Override
+    public Object run() {
+        maze.setup();
+        return maze;
+    }
+
+    @Override
+    public long count() {
+        return (long) maze.getWidth() * maze.getDepth();
+    }
+}
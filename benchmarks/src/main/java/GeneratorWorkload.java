@@ -0,0 +1,51 @@
+import bench.Workload;
+
+/**
+ * Carves a maze into a cleared grid from a fixed seed with one of the
+ * generators that come with the program. Each run uses a new generator, so
+ * the scratch memory the generator needs is counted in every run's
+ * allocation.
+ *
+ * @author Michael Quested
+ * @version 1.1
+ * @date 2026/10/18
+ */
+public class GeneratorWorkload implements Workload {
+
+    private final String generator;
+    private Maze maze;
+    private long seed;
+
+    /**
+     * Constructor for class GeneratorWorkload.
+     *
+     * @param generator The name of the generator, one of Generator.NAMES
+     */
+    public GeneratorWorkload(String generator) {
+        this.generator = generator;
+    }
+
+    @Override
+    public void prepare(int size, long seed) {
+        this.seed = seed;
+        maze = new Maze(size, size, seed, Generator.create(generator));
+    }
+
+    @Override
+    public void beforeRun() {
+        maze.clearPassages();
+        maze.setSeed(seed);
+    }
+
+    @Override
+    public Object run() {
+        maze.setGenerator(Generator.create(generator));
+        maze.setup();
+        return maze;
+    }
+
+    @Override
+    public long count() {
+        return (long) (maze.getWidth() / 2) * (maze.getDepth() / 2);
+    }
+}
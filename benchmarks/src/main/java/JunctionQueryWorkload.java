@@ -0,0 +1,32 @@
+/**
+ * Finds a shortest route between two rooms of a large maze over its junction
+ * graph, which searches every junction it reaches rather than just the
+ * entrances of tiles.
+ *
+ * @author Michael Quested
+ * @version 1.1
+ * @date 2026/10/18
+ */
+public class JunctionQueryWorkload extends TileQueryWorkload {
+
+    private JunctionGraph.Search search;
+
+    /**
+     * Constructor for class JunctionQueryWorkload.
+     *
+     * @param generator The name of the generator, one of Generator.NAMES
+     */
+    public JunctionQueryWorkload(String generator) {
+        super(generator);
+    }
+
+    @Override
+    protected void index() {
+        search = maze.getJunctionGraph().newSearch();
+    }
+
+    @Override
+    protected int[] query(int start, int goal) {
+        return search.findPath(start, goal);
+    }
+}
@@ -0,0 +1,55 @@
+/**
+ * Asks for the route between two rooms of a large maze from a cache of routes
+ * already found, as a service asked the same questions over and over would.
+ * A fixed set of pairs of rooms is picked at random and their routes found
+ * over the tile graph and cached before any run; each run asks the cache
+ * about the next pair, so every run is a hit.
+ *
+ * @author Michael Quested
+ * @version 1.1
+ * @date 2026/10/18
+ */
+public class PathCacheWorkload extends TileQueryWorkload {
+
+    private final static int PAIRS = 256;
+    private final int[] starts = new int[PAIRS], goals = new int[PAIRS];
+    private PathCache cache;
+    private int next;
+
+    /**
+     * Constructor for class PathCacheWorkload.
+     *
+     * @param generator The name of the generator, one of Generator.NAMES
+     */
+    public PathCacheWorkload(String generator) {
+        super(generator);
+    }
+
+    @Override
+    protected void index() {
+        super.index();
+        cache = new PathCache(PAIRS * 4);
+        for (int i = 0; i < PAIRS; i++) {
+            starts[i] = randomRoom();
+            goals[i] = randomRoom();
+            cache.put(maze, super.query(starts[i], goals[i]));
+        }
+    }
+
+    @Override
+    public void beforeRun() {
+        next = (next + 1) % PAIRS;
+        start = starts[next];
+        goal = goals[next];
+    }
+
+    @Override
+    protected int[] query(int start, int goal) {
+        int[] path = cache.get(maze, start, goal);
+        if (path == null) {
+            path = super.query(start, goal);
+            cache.put(maze, path);
+        }
+        return path;
+    }
+}
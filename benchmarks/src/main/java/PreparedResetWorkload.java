@@ -0,0 +1,37 @@
+import bench.Workload;
+
+/**
+ * Resets a RecursiveBacktracker maze to a fixed seed whose maze has already
+ * been generated into the back buffer, so that only the swap is timed.
+ *
+ * @author Michael Quested
+ * @version 1.1
+ * @date 2026/10/18
+ */
+public class PreparedResetWorkload implements Workload {
+
+    private RecursiveBacktracker maze;
+    private long seed;
+
+    @Override
+    public void prepare(int size, long seed) {
+        this.seed = seed;
+        maze = new RecursiveBacktracker(size, size);
+    }
+
+    @Override
+    public void beforeRun() {
+        maze.prepareReset(seed);
+    }
+
+    @Override
+    public Object run() {
+        maze.reset(seed);
+        return maze;
+    }
+
+    @Override
+    public long count() {
+        return (long) maze.getWidth() * maze.getDepth();
+    }
+}
@@ -0,0 +1,50 @@
+/**
+ * Counts the cells of a maze that can be reached from its top left room with
+ * a breadth-first search from a queue, reading the cells one at a time.
+ *
+ * @author Michael Quested
+ * @version 1.1
+ * @date 2026/10/18
+ */
+public class QueueFloodWorkload extends BitFloodWorkload {
+
+    private int[] queue, stamp;
+    private int search;
+
+    /**
+     * Constructor for class QueueFloodWorkload.
+     *
+     * @param generator The name of the generator, one of Generator.NAMES
+     */
+    public QueueFloodWorkload(String generator) {
+        super(generator);
+    }
+
+    @Override
+    public void prepare(int size, long seed) {
+        super.prepare(size, seed);
+        queue = new int[maze.getWidth() * maze.getDepth()];
+        stamp = new int[queue.length];
+    }
+
+    @Override
+    protected long countReachable(int from) {
+        int width = maze.getWidth();
+        int[] offsets = {-width, 1, width, -1};
+        search++;
+        int head = 0, tail = 0;
+        queue[tail++] = from;
+        stamp[from] = search;
+        while (head < tail) {
+            int cell = queue[head++];
+            for (int offset : offsets) {
+                int neighbour = cell + offset;
+                if (stamp[neighbour] != search && maze.isPassageAt(neighbour)) {
+                    stamp[neighbour] = search;
+                    queue[tail++] = neighbour;
+                }
+            }
+        }
+        return tail;
+    }
+}
@@ -0,0 +1,78 @@
+import bench.Workload;
+import java.util.SplittableRandom;
+
+/**
+ * Opens a wall of a maze and closes it again, with a DStarLite mouse in the
+ * near corner repairing its route to the cheese in the far corner after each
+ * change. The wall is picked at random before each run, and the maze is the
+ * same perfect maze again after every run.
+ *
+ * @author Michael Quested
+ * @version 1.1
+ * @date 2026/10/18
+ */
+public class RepairWorkload implements Workload {
+
+    private final String generator;
+    protected Maze maze;
+    private DStarLite mouse;
+    private SplittableRandom random;
+    private int wallX, wallY;
+
+    /**
+     * Constructor for class RepairWorkload.
+     *
+     * @param generator The name of the generator, one of Generator.NAMES
+     */
+    public RepairWorkload(String generator) {
+        this.generator = generator;
+    }
+
+    @Override
+    public void prepare(int size, long seed) {
+        maze = new Maze(size, size, seed, Generator.create(generator));
+        maze.setCheese(maze.getWidth() - 2, maze.getDepth() - 2);
+        random = new SplittableRandom(seed);
+        follow();
+    }
+
+    /**
+     * Start following the way to the cheese.
+     */
+    protected void follow() {
+        mouse = new DStarLite(maze);
+        mouse.setPosition(1, 1);
+        mouse.repair();
+        maze.addWallListener(mouse);
+    }
+
+    /**
+     * Bring the way to the cheese up to date after a wall has changed.
+     */
+    protected void update() {
+        mouse.repair();
+    }
+
+    @Override
+    public void beforeRun() {
+        // A wall between two rooms, which is never a post.
+        do {
+            wallX = 1 + random.nextInt(maze.getWidth() - 2);
+            wallY = 1 + random.nextInt(maze.getDepth() - 2);
+        } while (((wallX + wallY) & 1) == 0 || maze.isPassage(wallX, wallY));
+    }
+
+    @Override
+    public Object run() {
+        maze.openWall(wallX, wallY);
+        update();
+        maze.closeWall(wallX, wallY);
+        update();
+        return maze;
+    }
+
+    @Override
+    public long count() {
+        return 2;
+    }
+}
@@ -0,0 +1,30 @@
+/**
+ * Opens a wall of a maze and closes it again, rebuilding the maze's distance
+ * field to the cheese from scratch after each change, as a mouse without
+ * incremental repair would have to.
+ *
+ * @author Michael Quested
+ * @version 1.1
+ * @date 2026/10/18
+ */
+public class ReplanWorkload extends RepairWorkload {
+
+    /**
+     * Constructor for class ReplanWorkload.
+     *
+     * @param generator The name of the generator, one of Generator.NAMES
+     */
+    public ReplanWorkload(String generator) {
+        super(generator);
+    }
+
+    @Override
+    protected void follow() {
+        maze.getDistanceField();
+    }
+
+    @Override
+    protected void update() {
+        maze.getDistanceField();
+    }
+}
@@ -0,0 +1,35 @@
+import bench.Workload;
+
+/**
+ * Resets a RecursiveBacktracker maze, regenerating it from a fixed seed.
+ *
+ * @author Michael Quested
+ * @version 1.1
+ * @date 2026/10/18
+ */
+public class ResetWorkload implements Workload {
+
+    private RecursiveBacktracker maze;
+    private long seed;
+
+    @Override
+    public void prepare(int size, long seed) {
+        this.seed = seed;
+        maze = new RecursiveBacktracker(size, size);
+    }
+
+    @Override
+    public void beforeRun() {
+    }
+
+    @Override
+    public Object run() {
+        maze.reset(seed);
+        return maze;
+    }
+
+    @Override
+    public long count() {
+        return (long) maze.getWidth() * maze.getDepth();
+    }
+}
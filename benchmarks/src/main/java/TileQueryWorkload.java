@@ -0,0 +1,82 @@
+import bench.Workload;
+import java.util.SplittableRandom;
+
+/**
+ * Finds a shortest route between two rooms of a large maze over its tile
+ * graph. The graph is built once, before any run, and the two rooms are
+ * picked at random before each run.
+ *
+ * @author Michael Quested
+ * @version 1.1
+ * @date 2026/10/18
+ */
+public class TileQueryWorkload implements Workload {
+
+    private final String generator;
+    protected Maze maze;
+    private TileGraph.Search search;
+    private SplittableRandom random;
+    protected int start, goal;
+    private int length;
+
+    /**
+     * Constructor for class TileQueryWorkload.
+     *
+     * @param generator The name of the generator, one of Generator.NAMES
+     */
+    public TileQueryWorkload(String generator) {
+        this.generator = generator;
+    }
+
+    @Override
+    public void prepare(int size, long seed) {
+        maze = new Maze(size, size, seed, Generator.create(generator));
+        random = new SplittableRandom(seed);
+        index();
+    }
+
+    /**
+     * Build the index that queries search.
+     */
+    protected void index() {
+        search = maze.getTileGraph().newSearch();
+    }
+
+    /**
+     * Find a shortest route between two cells.
+     *
+     * @return the cells of the route
+     */
+    protected int[] query(int start, int goal) {
+        return search.findPath(start, goal);
+    }
+
+    @Override
+    public void beforeRun() {
+        start = randomRoom();
+        goal = randomRoom();
+    }
+
+    /**
+     * Pick a room of the maze at random.
+     *
+     * @return the packed index of the room
+     */
+    protected int randomRoom() {
+        int x = 2 * random.nextInt(maze.getWidth() / 2) + 1;
+        int y = 2 * random.nextInt(maze.getDepth() / 2) + 1;
+        return y * maze.getWidth() + x;
+    }
+
+    @Override
+    public Object run() {
+        int[] path = query(start, goal);
+        length = path.length;
+        return path;
+    }
+
+    @Override
+    public long count() {
+        return length;
+    }
+}
@@ -0,0 +1,41 @@
+import bench.Workload;
+import java.util.SplittableRandom;
+
+/**
+ * Runs a WallFollower headless from one corner of a maze to the cheese in the
+ * opposite corner, with the maze and the mouse's bearing from fixed seeds.
+ *
+ * @author Michael Quested
+ * @version 1.1
+ * @date 2026/10/18
+ */
+public class WallFollowerWorkload implements Workload {
+
+    private RecursiveBacktracker maze;
+    private long seed, steps;
+
+    @Override
+    public void prepare(int size, long seed) {
+        this.seed = seed;
+        maze = new RecursiveBacktracker(size, size, seed);
+        maze.setCheese(maze.getWidth() - 2, maze.getDepth() - 2);
+    }
+
+    @Override
+    public void beforeRun() {
+    }
+
+    @Override
+    public Object run() {
+        Mouse mouse = new WallFollower(maze, new SplittableRandom(seed));
+        mouse.setPosition(1, 1);
+        mouse.run();
+        steps = mouse.getSteps();
+        return mouse;
+    }
+
+    @Override
+    public long count() {
+        return steps;
+    }
+}
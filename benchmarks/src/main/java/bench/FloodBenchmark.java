@@ -0,0 +1,44 @@
+package bench;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Measures how long it takes to find every cell of a maze that can be reached
+ * from one corner: a BitFlood spreading over whole words of passages against
+ * a breadth-first search from a queue, one cell at a time.
+ *
+ * @author Michael Quested
+ * @version 1.1
+ * @date 2026/10/18
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class FloodBenchmark {
+
+    @Param({"BitFloodWorkload", "QueueFloodWorkload"})
+    public String method;
+
+    @Param({"Recursive Backtracker", "Prim"})
+    public String generator;
+
+    @Param({"1000", "3000"})
+    public int size;
+
+    private Workload workload;
+
+    @Setup(Level.Trial)
+    public void prepare() {
+        workload = Workload.create(method, generator);
+        workload.prepare(size, 42);
+    }
+
+    @Benchmark
+    public Object countReachable() {
+        return workload.run();
+    }
+}
@@ -0,0 +1,42 @@
+package bench;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Measures RecursiveBacktracker.setup() carving a maze into a cleared grid,
+ * at several sizes and from a fixed seed.
+ *
+ * @author Michael Quested
+ * @version 1.1
+ * @date 2026/10/18
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class GenerationBenchmark {
+
+    @Param({"100", "1000", "4000"})
+    public int size;
+
+    private Workload workload;
+
+    @Setup(Level.Trial)
+    public void prepare() {
+        workload = Workload.create("GenerationWorkload");
+        workload.prepare(size, 42);
+    }
+
+    @Setup(Level.Invocation)
+    public void clear() {
+        workload.beforeRun();
+    }
+
+    @Benchmark
+    public Object setup() {
+        return workload.run();
+    }
+}
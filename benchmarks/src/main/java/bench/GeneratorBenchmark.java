@@ -0,0 +1,65 @@
+package bench;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Compares the generators that come with the program, carving a maze into a
+ * cleared grid from a fixed seed. Throughput is reported in cells per second
+ * as well as mazes per second, and the GC profiler's allocation per operation
+ * is the scratch memory each generator needs for a maze of the size.
+ *
+ * @author Michael Quested
+ * @version 1.1
+ * @date 2026/10/18
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class GeneratorBenchmark {
+
+    @Param({"Recursive Backtracker", "Eller", "Kruskal", "Prim", "Wilson"})
+    public String generator;
+
+    @Param({"100", "1000"})
+    public int size;
+
+    private Workload workload;
+
+    /**
+     * Counts the cells carved, so that throughput is also reported in cells
+     * per second rather than only in mazes per second.
+     */
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    @State(Scope.Thread)
+    public static class Cells {
+
+        public long cells;
+
+        @Setup(Level.Iteration)
+        public void clear() {
+            cells = 0;
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void prepare() {
+        workload = Workload.create("GeneratorWorkload", generator);
+        workload.prepare(size, 42);
+    }
+
+    @Setup(Level.Invocation)
+    public void clear() {
+        workload.beforeRun();
+    }
+
+    @Benchmark
+    public Object generate(Cells counter) {
+        Object maze = workload.run();
+        counter.cells += workload.count();
+        return maze;
+    }
+}
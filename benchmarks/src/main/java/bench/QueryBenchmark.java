@@ -0,0 +1,52 @@
+package bench;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Measures how long it takes to find a shortest route between two rooms
+ * picked at random in a large maze, once the maze has been indexed: over the
+ * tile graph, searching between the entrances of tiles, against over the
+ * junction graph, against asking a cache of routes already found about one of
+ * a fixed set of pairs. Building the index and filling the cache are not
+ * timed.
+ *
+ * @author Michael Quested
+ * @version 1.1
+ * @date 2026/10/18
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class QueryBenchmark {
+
+    @Param({"TileQueryWorkload", "JunctionQueryWorkload", "PathCacheWorkload"})
+    public String method;
+
+    @Param({"Recursive Backtracker", "Prim"})
+    public String generator;
+
+    @Param({"1000", "3000"})
+    public int size;
+
+    private Workload workload;
+
+    @Setup(Level.Trial)
+    public void prepare() {
+        workload = Workload.create(method, generator);
+        workload.prepare(size, 42);
+    }
+
+    @Setup(Level.Invocation)
+    public void pickRooms() {
+        workload.beforeRun();
+    }
+
+    @Benchmark
+    public Object findPath() {
+        return workload.run();
+    }
+}
@@ -0,0 +1,52 @@
+package bench;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Measures how long it takes to bring the way to the cheese up to date after
+ * a wall is opened and closed again: a DStarLite mouse repairing its route
+ * against the whole distance field being rebuilt. Each operation is two wall
+ * changes, so the latency per change is half the time reported. The long
+ * corridors of a Recursive Backtracker maze make a change alter the distance
+ * of far more cells than in a Prim maze, so a repair there costs more.
+ *
+ * @author Michael Quested
+ * @version 1.1
+ * @date 2026/10/18
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class RepairBenchmark {
+
+    @Param({"RepairWorkload", "ReplanWorkload"})
+    public String method;
+
+    @Param({"Recursive Backtracker", "Prim"})
+    public String generator;
+
+    @Param({"100", "1000"})
+    public int size;
+
+    private Workload workload;
+
+    @Setup(Level.Trial)
+    public void prepare() {
+        workload = Workload.create(method, generator);
+        workload.prepare(size, 42);
+    }
+
+    @Setup(Level.Invocation)
+    public void pickWall() {
+        workload.beforeRun();
+    }
+
+    @Benchmark
+    public Object openAndClose() {
+        return workload.run();
+    }
+}
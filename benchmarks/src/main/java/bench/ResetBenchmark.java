@@ -0,0 +1,65 @@
+package bench;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Measures the full cost of RecursiveBacktracker.reset(), clearing the old
+ * maze as well as carving the new one, at several sizes and from a fixed
+ * seed; and the cost of a reset whose maze was prepared in the back buffer
+ * beforehand, which is all a user waits for when the next maze has been
+ * generated in the background.
+ *
+ * @author Michael Quested
+ * @version 1.1
+ * @date 2026/10/18
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class ResetBenchmark {
+
+    @Param({"100", "1000", "4000"})
+    public int size;
+
+    private Workload workload;
+
+    /**
+     * Prepares the next maze in the back buffer before every reset, untimed.
+     */
+    @State(Scope.Thread)
+    public static class Prepared {
+
+        private Workload workload;
+
+        @Setup(Level.Trial)
+        public void prepare(ResetBenchmark benchmark) {
+            workload = Workload.create("PreparedResetWorkload");
+            workload.prepare(benchmark.size, 42);
+        }
+
+        @Setup(Level.Invocation)
+        public void prepareNext() {
+            workload.beforeRun();
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void prepare() {
+        workload = Workload.create("ResetWorkload");
+        workload.prepare(size, 42);
+    }
+
+    @Benchmark
+    public Object reset() {
+        return workload.run();
+    }
+
+    @Benchmark
+    public Object preparedReset(Prepared prepared) {
+        return prepared.workload.run();
+    }
+}
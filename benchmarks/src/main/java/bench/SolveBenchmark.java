@@ -0,0 +1,55 @@
+package bench;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Measures how many steps per second a WallFollower takes crossing a maze
+ * from corner to corner, headless, on a maze and bearing from fixed seeds.
+ *
+ * @author Michael Quested
+ * @version 1.1
+ * @date 2026/10/18
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class SolveBenchmark {
+
+    @Param({"100", "1000"})
+    public int size;
+
+    private Workload workload;
+
+    /**
+     * Counts the steps taken, so that throughput is also reported in steps
+     * per second rather than only in solves per second.
+     */
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    @State(Scope.Thread)
+    public static class Steps {
+
+        public long steps;
+
+        @Setup(Level.Iteration)
+        public void clear() {
+            steps = 0;
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void prepare() {
+        workload = Workload.create("WallFollowerWorkload");
+        workload.prepare(size, 42);
+    }
+
+    @Benchmark
+    public Object wallFollower(Steps counter) {
+        Object mouse = workload.run();
+        counter.steps += workload.count();
+        return mouse;
+    }
+}
@@ -0,0 +1,73 @@
+package bench;
+
+/**
+ * A unit of work on a maze for a benchmark to time.
+ *
+ * JMH will not generate benchmarks in the default package, and code in a
+ * named package cannot refer to the default-package classes of Maze Mouse. So
+ * the benchmarks live in this package and drive the mazes through this
+ * interface, with the implementations in the default package loaded by name.
+ *
+ * @author Michael Quested
+ * @version 1.1
+ * @date 2026/10/18
+ */
+public interface Workload {
+
+    /**
+     * Build the maze to work on. Called once per trial.
+     *
+     * @param size The width and depth of the maze
+     * @param seed The seed for the maze
+     */
+    void prepare(int size, long seed);
+
+    /**
+     * Put the maze back into its starting state before each run. Not timed.
+     */
+    void beforeRun();
+
+    /**
+     * Do the work being measured.
+     *
+     * @return a result for the benchmark to consume
+     */
+    Object run();
+
+    /**
+     * Get how many units of work the last run did, such as steps taken.
+     *
+     * @return the units of work done by the last run
+     */
+    long count();
+
+    /**
+     * Create a workload from its class name in the default package.
+     *
+     * @param name The name of the workload class
+     * @return a new instance of the workload
+     */
+    static Workload create(String name) {
+        try {
+            return (Workload) Class.forName(name).getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalArgumentException("No workload " + name, e);
+        }
+    }
+
+    /**
+     * Create a workload from its class name in the default package, passing
+     * a single argument to its constructor.
+     *
+     * @param name The name of the workload class
+     * @param argument The argument for its constructor
+     * @return a new instance of the workload
+     */
+    static Workload create(String name, String argument) {
+        try {
+            return (Workload) Class.forName(name).getDeclaredConstructor(String.class).newInstance(argument);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalArgumentException("No workload " + name + "(" + argument + ")", e);
+        }
+    }
+}
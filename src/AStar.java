@@ -0,0 +1,66 @@
+import java.util.Arrays;
+
+/**
+ * Class that creates a mouse that finds the shortest route to the cheese with
+ * an A* search guided by the Manhattan distance, then follows it.
+ *
+ * @author Michael Quested
+ * @version 1.1
+ * @date 2026/10/18
+ */
+public class AStar extends PathFollower {
+
+    /**
+     * Constructor for class AStar.
+     *
+     * @param maze The maze that the mouse will be navigating.
+     */
+    public AStar(Maze maze) {
+        super(maze);
+    }
+
+    /**
+     * Expand cells in order of distance so far plus Manhattan distance to the
+     * goal. The heuristic never overestimates on a grid of unit moves, so the
+     * first time the goal is popped its route is a shortest one.
+     */
+    @Override
+    protected int[] findPath(int start, int goal) {
+        int width = maze.getWidth();
+        int goalX = goal % width;
+        int goalY = goal / width;
+        int[] offsets = {-width, 1, width, -1};
+        int[] parent = newParents();
+        int[] distance = new int[parent.length];
+        Arrays.fill(distance, Integer.MAX_VALUE);
+        IntMinHeap open = new IntMinHeap(1024);
+        distance[start] = 0;
+        parent[start] = start;
+        open.push(heuristic(start, width, goalX, goalY), start);
+        while (!open.isEmpty()) {
+            int key = open.peekKey();
+            int cell = open.pop();
+            if (key - heuristic(cell, width, goalX, goalY) > distance[cell]) {
+                continue; // A stale entry, superseded by a shorter route.
+            }
+            nodesExpanded++;
+            if (cell == goal) {
+                return tracePath(parent, start, goal);
+            }
+            int reached = distance[cell] + 1;
+            for (int offset : offsets) {
+                int neighbour = cell + offset;
+                if (reached < distance[neighbour] && maze.isPassageAt(neighbour)) {
+                    distance[neighbour] = reached;
+                    parent[neighbour] = cell;
+                    open.push(reached + heuristic(neighbour, width, goalX, goalY), neighbour);
+                }
+            }
+        }
+        return null;
+    }
+
+    private static int heuristic(int cell, int width, int goalX, int goalY) {
+        return Math.abs(cell % width - goalX) + Math.abs(cell / width - goalY);
+    }
+}
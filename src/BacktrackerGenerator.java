@@ -0,0 +1,94 @@
+import java.util.Arrays;
+import java.util.random.RandomGenerator;
+
+/**
+ * Generates maze coordinates using the recursive backtracker algorithm.
+ *
+ * The backtracking is driven by an explicit stack of packed cell indices
+ * rather than by the call stack, so the size of the maze is limited only by
+ * the heap and never by the thread stack size. The stack is kept between
+ * runs.
+ *
+ * @author Michael Quested
+ * @version 1.1
+ * @date 2012/12/16
+ */
+public class BacktrackerGenerator implements Generator {
+
+    private final int[] neighbours = new int[4];
+    private int[] stack = new int[64];
+
+    /**
+     * Setup the starting grid, then 'carve' the passages of the maze.
+     */
+    @Override
+    public void generate(Maze maze, RandomGenerator random) {
+        maze.resetVisited();
+        for (int row = 1; row < maze.getDepth() - 1; row += 2) {
+            for (int col = 1; col < maze.getWidth() - 1; col += 2) {
+                maze.setPassage(col, row, true);
+            }
+        }
+        carvePassagesFrom(maze, random, 1, 1);
+        maze.releaseVisited();
+    }
+
+    /**
+     * Iterative method for carving the 'passages' of the maze. Cells are held
+     * on the stack as the packed index y * width + x. At each step the cell on
+     * top of the stack picks a random unvisited neighbour, knocks down the
+     * wall between them and pushes it; a cell with no unvisited neighbours is
+     * popped, which is where the backtracking happens.
+     *
+     * @param x The starting x position of the maze
+     * @param y The starting y position of the maze
+     */
+    private void carvePassagesFrom(Maze maze, RandomGenerator random, int x, int y) {
+        int width = maze.getWidth();
+        int depth = maze.getDepth();
+        int top = 0;
+        long visits = 0;
+        stack[top++] = y * width + x;
+        maze.setPassage(x, y, true);
+        maze.setVisited(x, y);
+
+        while (top > 0) {
+            int cell = stack[top - 1];
+            x = cell % width;
+            y = cell / width;
+
+            int count = 0;
+            if (y > 2 && !maze.isVisited(x, y - 2)) {
+                neighbours[count++] = cell - 2 * width;
+            }
+            if (x < width - 2 && !maze.isVisited(x + 2, y)) {
+                neighbours[count++] = cell + 2;
+            }
+            if (y < depth - 2 && !maze.isVisited(x, y + 2)) {
+                neighbours[count++] = cell + 2 * width;
+            }
+            if (x > 2 && !maze.isVisited(x - 2, y)) {
+                neighbours[count++] = cell - 2;
+            }
+            if (count == 0) {
+                top--;
+                visits++;
+                continue;
+            }
+
+            int next = neighbours[count == 1 ? 0 : random.nextInt(count)];
+            int wall = (cell + next) >>> 1;
+            maze.setPassage(wall % width, wall / width, true);
+            x = next % width;
+            y = next / width;
+            maze.setPassage(x, y, true);
+            maze.setVisited(x, y);
+
+            if (top == stack.length) {
+                stack = Arrays.copyOf(stack, stack.length * 2);
+            }
+            stack[top++] = next;
+        }
+        maze.countVisited(visits);
+    }
+}
@@ -0,0 +1,111 @@
+/**
+ * Class that creates a mouse that finds the shortest route to the cheese with
+ * two breadth-first searches, one from each end, that meet in the middle.
+ *
+ * @author Michael Quested
+ * @version 1.1
+ * @date 2026/10/18
+ */
+public class BidirectionalBreadthFirst extends PathFollower {
+
+    /**
+     * Constructor for class BidirectionalBreadthFirst.
+     *
+     * @param maze The maze that the mouse will be navigating.
+     */
+    public BidirectionalBreadthFirst(Maze maze) {
+        super(maze);
+    }
+
+    /**
+     * Grow a layer at a time from whichever side has the smaller frontier.
+     * Once a layer touches a cell the other side has reached, the best
+     * meeting cell found in that layer joins the two halves of a shortest
+     * route.
+     */
+    @Override
+    protected int[] findPath(int start, int goal) {
+        if (start == goal) {
+            return new int[]{start};
+        }
+        int width = maze.getWidth();
+        int[] offsets = {-width, 1, width, -1};
+        int[] forward = newParents();
+        int[] backward = newParents();
+        int[] forwardDistance = new int[forward.length];
+        int[] backwardDistance = new int[forward.length];
+        int[] forwardQueue = new int[forward.length];
+        int[] backwardQueue = new int[forward.length];
+        int forwardHead = 0, forwardTail = 0, backwardHead = 0, backwardTail = 0;
+        forward[start] = start;
+        backward[goal] = goal;
+        forwardQueue[forwardTail++] = start;
+        backwardQueue[backwardTail++] = goal;
+
+        while (forwardHead < forwardTail && backwardHead < backwardTail) {
+            boolean fromStart = forwardTail - forwardHead <= backwardTail - backwardHead;
+            int[] parent = fromStart ? forward : backward;
+            int[] other = fromStart ? backward : forward;
+            int[] distance = fromStart ? forwardDistance : backwardDistance;
+            int[] otherDistance = fromStart ? backwardDistance : forwardDistance;
+            int[] queue = fromStart ? forwardQueue : backwardQueue;
+            int head = fromStart ? forwardHead : backwardHead;
+            int tail = fromStart ? forwardTail : backwardTail;
+
+            int layerEnd = tail;
+            int meet = -1;
+            int best = Integer.MAX_VALUE;
+            while (head < layerEnd) {
+                int cell = queue[head++];
+                nodesExpanded++;
+                for (int offset : offsets) {
+                    int neighbour = cell + offset;
+                    if (!maze.isPassageAt(neighbour)) {
+                        continue;
+                    }
+                    if (other[neighbour] >= 0) {
+                        int length = distance[cell] + 1 + otherDistance[neighbour];
+                        if (length < best) {
+                            best = length;
+                            meet = neighbour;
+                            if (parent[neighbour] < 0) {
+                                parent[neighbour] = cell;
+                                distance[neighbour] = distance[cell] + 1;
+                            }
+                        }
+                    } else if (parent[neighbour] < 0) {
+                        parent[neighbour] = cell;
+                        distance[neighbour] = distance[cell] + 1;
+                        queue[tail++] = neighbour;
+                    }
+                }
+            }
+            if (fromStart) {
+                forwardHead = head;
+                forwardTail = tail;
+            } else {
+                backwardHead = head;
+                backwardTail = tail;
+            }
+            if (meet >= 0) {
+                return join(forward, backward, start, goal, meet);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Join the route from the start to the meeting cell with the route from
+     * the meeting cell to the goal.
+     */
+    private int[] join(int[] forward, int[] backward, int start, int goal, int meet) {
+        int[] head = tracePath(forward, start, meet);
+        int[] tail = tracePath(backward, goal, meet);
+        int[] path = new int[head.length + tail.length - 1];
+        System.arraycopy(head, 0, path, 0, head.length);
+        for (int i = 1; i < tail.length; i++) {
+            path[head.length - 1 + i] = tail[tail.length - 1 - i];
+        }
+        return path;
+    }
+}
@@ -0,0 +1,303 @@
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+/**
+ * A breadth-first flood over the passages of a maze that moves one whole
+ * layer at a time, 64 cells to an operation, rather than one cell at a time
+ * from a queue.
+ *
+ * The passages are copied from the maze when the flood is made into rows of
+ * longs, one bit a cell, each row starting on a word of its own, so a later
+ * change to the walls is not seen. An empty word follows every row, and an
+ * empty row comes before the first and after the last, so the words next to
+ * any word of the maze can be read without checking for the edges. The cells reached so far and the cells
+ * reached in the last layer, the front, are held the same way. A layer is
+ * the front shifted one bit either way, carrying the end bits over between
+ * the words of a row, or'd with the front of the rows above and below, then
+ * and'd with the passages and with the cells not yet reached.
+ *
+ * Only the words the front is in are kept in a list, and only the words next
+ * to them that hold a passage the front can step into are worked on, so a
+ * layer costs the words around its front rather than the whole grid. A flood
+ * made to run in parallel splits the words of each layer wide enough to be
+ * worth it over the threads of the common fork/join pool; each word is
+ * written only by the thread that works on it.
+ *
+ * A flood holds its working state, so it runs one search at a time.
+ *
+ * @author Michael Quested
+ * @version 1.1
+ * @date 2026/10/18
+ */
+public class BitFlood {
+
+    private final static int PARALLEL_WORDS = 4096;
+    private final int width, depth, stride;
+    private final boolean parallel;
+    private final long[] passages, reached;
+    private long[] front, next;
+    private final int[] active, candidates, stamp;
+    private int activeCount, layers, passes;
+
+    /**
+     * Constructor for class BitFlood, flooding on one thread.
+     *
+     * @param maze The maze to flood
+     */
+    public BitFlood(Maze maze) {
+        this(maze, false);
+    }
+
+    /**
+     * Constructor for class BitFlood. Copies the passages of the maze.
+     *
+     * @param maze The maze to flood
+     * @param parallel true to split wide layers over the cores
+     */
+    public BitFlood(Maze maze, boolean parallel) {
+        width = maze.getWidth();
+        depth = maze.getDepth();
+        stride = ((width + 63) >>> 6) + 1;
+        this.parallel = parallel;
+        long words = (long) stride * (depth + 2);
+        if (words > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("A maze of " + width + " by " + depth + " is too large to flood");
+        }
+        passages = new long[(int) words];
+        reached = new long[passages.length];
+        front = new long[passages.length];
+        next = new long[passages.length];
+        for (int y = 0; y < depth; y++) {
+            for (int word = 0; word < stride - 1; word++) {
+                passages[(y + 1) * stride + word] = maze.getPassageBits(word << 6, y);
+            }
+        }
+        active = new int[passages.length];
+        candidates = new int[passages.length];
+        stamp = new int[passages.length];
+    }
+
+    /**
+     * Get the distance between two cells.
+     *
+     * @param from The packed index y * width + x of the cell to start from
+     * @param to The packed index of the cell to reach
+     * @return the number of moves between them, or -1 if there is no way
+     */
+    public int distance(int from, int to) {
+        return flood(new int[] {from}, to, null);
+    }
+
+    /**
+     * Get the distance of every cell from the nearest of one or more cells.
+     *
+     * @param from The packed index y * width + x of each cell to start from
+     * @return the number of moves from the nearest, by packed index, or -1
+     * for a cell none of them can reach
+     */
+    public int[] distances(int... from) {
+        int[] distance = new int[width * depth];
+        Arrays.fill(distance, -1);
+        flood(from, -1, distance);
+        return distance;
+    }
+
+    /**
+     * Count the cells that can be reached from a cell, itself included.
+     * Rather than a layer at a time, each word of the front spreads at once
+     * along the whole of every run of passages it touches within the word,
+     * which takes far fewer steps than the distance to the furthest cell.
+     *
+     * @param from The packed index y * width + x of the cell to start from
+     * @return the number of cells reached
+     */
+    public long countReachable(int from) {
+        flood(new int[] {from}, -1, null);
+        long count = 0;
+        for (long word : reached) {
+            count += Long.bitCount(word);
+        }
+        return count;
+    }
+
+    /**
+     * Check if every passage of the maze can be reached from every other.
+     *
+     * @return true if the passages are all joined up, or there are none
+     */
+    public boolean isConnected() {
+        long count = 0;
+        int first = -1;
+        for (int i = 0; i < passages.length; i++) {
+            if (first < 0 && passages[i] != 0) {
+                first = cellOf(i) + Long.numberOfTrailingZeros(passages[i]);
+            }
+            count += Long.bitCount(passages[i]);
+        }
+        return first < 0 || countReachable(first) == count;
+    }
+
+    /**
+     * Get the number of layers the last flood took. After finding distances
+     * this is the distance to the furthest cell reached.
+     *
+     * @return the number of layers flooded after the first
+     */
+    public int getLayers() {
+        return layers;
+    }
+
+    /**
+     * Flood outwards from the cells given, one layer at a time, until there
+     * is no front left or the cell looked for is reached.
+     *
+     * @param target The packed index of the cell to stop at, or -1 to flood
+     * everything that can be reached
+     * @param distance The distances to fill in, or null
+     * @return the layer the target was reached in, or -1 if it was not
+     */
+    private int flood(int[] from, int target, int[] distance) {
+        Arrays.fill(reached, 0L);
+        activeCount = 0;
+        layers = 0;
+        for (int cell : from) {
+            int word = wordOf(cell);
+            if (front[word] == 0) {
+                active[activeCount++] = word;
+            }
+            front[word] |= 1L << (cell % width);
+            reached[word] |= 1L << (cell % width);
+            if (distance != null) {
+                distance[cell] = 0;
+            }
+        }
+        int found = target >= 0 && isReached(target) ? 0 : -1;
+        final boolean runs = target < 0 && distance == null;
+        while (activeCount > 0 && found < 0) {
+            final int layer = ++layers;
+            final int[] fill = distance;
+            final int count = gather();
+            if (parallel && count >= PARALLEL_WORDS) {
+                final int threads = Math.max(1, ForkJoinPool.getCommonPoolParallelism());
+                IntStream.range(0, threads).parallel().forEach(thread -> {
+                    for (int i = thread; i < count; i += threads) {
+                        expand(candidates[i], layer, fill, runs);
+                    }
+                });
+            } else {
+                for (int i = 0; i < count; i++) {
+                    expand(candidates[i], layer, fill, runs);
+                }
+            }
+
+            // Clear the old front, and make the new one current.
+            for (int i = 0; i < activeCount; i++) {
+                front[active[i]] = 0;
+            }
+            long[] words = front;
+            front = next;
+            next = words;
+            activeCount = 0;
+            for (int i = 0; i < count; i++) {
+                if (front[candidates[i]] != 0) {
+                    active[activeCount++] = candidates[i];
+                }
+            }
+            if (target >= 0 && isReached(target)) {
+                found = layer;
+            }
+        }
+
+        // Leave the front empty for the next flood.
+        for (int i = 0; i < activeCount; i++) {
+            front[active[i]] = 0;
+        }
+        activeCount = 0;
+        return found;
+    }
+
+    /**
+     * List the words the front can spread into: those holding a passage not
+     * yet reached next to a cell of the front, in its own word or the word
+     * beside it or above or below it. Each word is stamped with the number of
+     * the pass so it is listed once.
+     *
+     * @return the number of words listed
+     */
+    private int gather() {
+        if (++passes == 0) {
+            Arrays.fill(stamp, 0);
+            passes = 1;
+        }
+        int count = 0;
+        for (int i = 0; i < activeCount; i++) {
+            int word = active[i];
+            long bits = front[word];
+            if (((bits << 1 | bits >>> 1) & passages[word] & ~reached[word]) != 0) {
+                count = list(word, count);
+            }
+            if ((bits & 1) != 0 && (passages[word - 1] & ~reached[word - 1]) < 0) {
+                count = list(word - 1, count);
+            }
+            if (bits < 0 && (passages[word + 1] & ~reached[word + 1] & 1) != 0) {
+                count = list(word + 1, count);
+            }
+            if ((bits & passages[word - stride] & ~reached[word - stride]) != 0) {
+                count = list(word - stride, count);
+            }
+            if ((bits & passages[word + stride] & ~reached[word + stride]) != 0) {
+                count = list(word + stride, count);
+            }
+        }
+        return count;
+    }
+
+    private int list(int word, int count) {
+        if (stamp[word] != passes) {
+            stamp[word] = passes;
+            candidates[count++] = word;
+        }
+        return count;
+    }
+
+    /**
+     * Work out the next layer of one word from the front in it and in the
+     * words either side and above and below, adding it to the cells reached.
+     */
+    private void expand(int word, int layer, int[] distance, boolean runs) {
+        long bits = front[word];
+        long spread = bits << 1 | bits >>> 1 | front[word - 1] >>> 63 | front[word + 1] << 63
+                | front[word - stride] | front[word + stride];
+        long open = passages[word] & ~reached[word];
+        long fresh = spread & open;
+        if (runs && fresh != 0) {
+            fresh |= (open + fresh ^ open) & open;
+            long back = Long.reverse(open);
+            fresh |= Long.reverse((back + Long.reverse(fresh) ^ back) & back);
+        }
+        next[word] = fresh;
+        reached[word] |= fresh;
+        if (distance != null && fresh != 0) {
+            int cell = cellOf(word);
+            for (long left = fresh; left != 0; left &= left - 1) {
+                distance[cell + Long.numberOfTrailingZeros(left)] = layer;
+            }
+        }
+    }
+
+    private int wordOf(int cell) {
+        return (cell / width + 1) * stride + ((cell % width) >>> 6);
+    }
+
+    /**
+     * Get the packed index of the first cell of a word.
+     */
+    private int cellOf(int word) {
+        return (word / stride - 1) * width + ((word % stride) << 6);
+    }
+
+    private boolean isReached(int cell) {
+        return (reached[wordOf(cell)] & 1L << (cell % width)) != 0;
+    }
+}
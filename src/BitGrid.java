@@ -0,0 +1,109 @@
+import java.util.Arrays;
+
+/**
+ * A 2-D grid of bits packed one bit per cell into a flat long array. Cells are
+ * laid out row-major, so cell (x, y) is bit y * width + x, and neighbouring
+ * cells of a row share the same word.
+ *
+ * @author Michael Quested
+ * @version 1.1
+ * @date 2026/10/18
+ */
+public class BitGrid {
+
+    private final int width, depth;
+    private final long[] words;
+
+    /**
+     * Constructor for class BitGrid. All cells start cleared.
+     *
+     * @param width The grid width
+     * @param depth The grid depth
+     */
+    public BitGrid(int width, int depth) {
+        this.width = width;
+        this.depth = depth;
+        words = new long[(int) (((long) width * depth + 63) >>> 6)];
+    }
+
+    /**
+     * Get the state of a cell.
+     *
+     * @param x The grid position x of the cell
+     * @param y The grid position y of the cell
+     * @return true if the cell is set, false if not
+     */
+    public boolean get(int x, int y) {
+        long bit = (long) y * width + x;
+        return (words[(int) (bit >>> 6)] & (1L << bit)) != 0;
+    }
+
+    /**
+     * Get the state of a cell by its packed index.
+     *
+     * @param cell The packed index of the cell, y * width + x
+     * @return true if the cell is set, false if not
+     */
+    public boolean get(long cell) {
+        return (words[(int) (cell >>> 6)] & (1L << cell)) != 0;
+    }
+
+    /**
+     * Get the states of 64 cells in a row of the packed layout at once,
+     * starting from any cell, not just one at the start of a word.
+     *
+     * @param cell The packed index of the first cell, y * width + x
+     * @return the states, the first cell in the lowest bit, with 0 for cells
+     * past the end of the grid
+     */
+    public long getBits(long cell) {
+        int word = (int) (cell >>> 6);
+        int shift = (int) cell & 63;
+        long bits = words[word] >>> shift;
+        if (shift != 0 && word + 1 < words.length) {
+            bits |= words[word + 1] << (64 - shift);
+        }
+        return bits;
+    }
+
+    /**
+     * Set or clear a cell.
+     *
+     * @param x The grid position x of the cell
+     * @param y The grid position y of the cell
+     * @param value true to set the cell, false to clear it
+     * @return true if the cell changed, false if it was already so
+     */
+    public boolean set(int x, int y, boolean value) {
+        long bit = (long) y * width + x;
+        int index = (int) (bit >>> 6);
+        long word = words[index];
+        words[index] = value ? word | 1L << bit : word & ~(1L << bit);
+        return words[index] != word;
+    }
+
+    /**
+     * Clear every cell of the grid.
+     */
+    public void clear() {
+        Arrays.fill(words, 0L);
+    }
+
+    /**
+     * Get the grid width.
+     *
+     * @return the grid width
+     */
+    public int getWidth() {
+        return width;
+    }
+
+    /**
+     * Get the grid depth.
+     *
+     * @return the grid depth
+     */
+    public int getDepth() {
+        return depth;
+    }
+}
@@ -0,0 +1,125 @@
+import java.util.random.RandomGenerator;
+
+/**
+ * Generates a braided maze: a maze with loops, made by carving a perfect maze
+ * with another generator and then removing a set fraction of its dead ends.
+ *
+ * The dead ends, rooms with only one open side, are found once and visited in
+ * a random order. Each one still a dead end is opened into a neighbouring room
+ * it is not yet joined to, picking a neighbour that is a dead end itself when
+ * there is one, so that a single wall removes two dead ends at once. This
+ * stops as soon as enough dead ends are gone. Every wall opened joins two
+ * rooms that were already connected, so each one makes a loop.
+ *
+ * @author Michael Quested
+ * @version 1.1
+ * @date 2026/10/18
+ */
+public class BraidGenerator implements Generator {
+
+    private final Generator generator;
+    private final double fraction;
+    private final int[] neighbours = new int[4];
+    private int[] deadEnds = new int[0];
+
+    /**
+     * Constructor for class BraidGenerator.
+     *
+     * @param generator The generator to carve the perfect maze with
+     * @param fraction The fraction of dead ends to remove, from 0 to 1
+     */
+    public BraidGenerator(Generator generator, double fraction) {
+        if (!(fraction >= 0 && fraction <= 1)) {
+            throw new IllegalArgumentException("The fraction of dead ends to remove must be from 0 to 1, not " + fraction);
+        }
+        this.generator = generator;
+        this.fraction = fraction;
+    }
+
+    /**
+     * Carve a perfect maze, then open walls until the fraction of its dead
+     * ends is gone.
+     */
+    @Override
+    public void generate(Maze maze, RandomGenerator random) {
+        generator.generate(maze, random);
+        int width = maze.getWidth();
+        int depth = maze.getDepth();
+        int rooms = (width / 2) * (depth / 2);
+        if (deadEnds.length < rooms) {
+            deadEnds = new int[rooms];
+        }
+        int count = 0;
+        for (int y = 1; y < depth; y += 2) {
+            for (int x = 1; x < width; x += 2) {
+                if (isDeadEnd(maze, x, y)) {
+                    deadEnds[count++] = y * width + x;
+                }
+            }
+        }
+        int remaining = count;
+        int target = count - (int) Math.round(fraction * count);
+        for (int i = 0; i < count && remaining > target; i++) {
+            int pick = i + random.nextInt(count - i);
+            int cell = deadEnds[pick];
+            deadEnds[pick] = deadEnds[i];
+            int x = cell % width;
+            int y = cell / width;
+            if (!isDeadEnd(maze, x, y)) {
+                continue; // Opened already by a neighbour.
+            }
+
+            // The rooms next to this one that it is not joined to, the dead
+            // ends among them first.
+            int closed = 0, dead = 0;
+            for (int side = 0; side < 4; side++) {
+                int nx = x + (side == 1 ? 2 : side == 3 ? -2 : 0);
+                int ny = y + (side == 2 ? 2 : side == 0 ? -2 : 0);
+                if (nx > 0 && ny > 0 && nx < width - 1 && ny < depth - 1
+                        && !maze.isCarved((x + nx) / 2, (y + ny) / 2)) {
+                    int neighbour = ny * width + nx;
+                    if (isDeadEnd(maze, nx, ny)) {
+                        neighbours[closed++] = neighbours[dead];
+                        neighbours[dead++] = neighbour;
+                    } else {
+                        neighbours[closed++] = neighbour;
+                    }
+                }
+            }
+            if (closed == 0) {
+                continue; // A maze one room wide or deep.
+            }
+            int neighbour = neighbours[random.nextInt(dead > 0 ? dead : closed)];
+            int wall = (cell + neighbour) >>> 1;
+            maze.setPassage(wall % width, wall / width, true);
+            remaining -= dead > 0 ? 2 : 1;
+        }
+    }
+
+    /**
+     * Check if a room has only one open side.
+     */
+    private static boolean isDeadEnd(Maze maze, int x, int y) {
+        int open = (maze.isCarved(x, y - 1) ? 1 : 0) + (maze.isCarved(x + 1, y) ? 1 : 0)
+                + (maze.isCarved(x, y + 1) ? 1 : 0) + (maze.isCarved(x - 1, y) ? 1 : 0);
+        return open == 1;
+    }
+
+    /**
+     * Get the generator that carves the perfect maze.
+     *
+     * @return the generator wrapped
+     */
+    public Generator getGenerator() {
+        return generator;
+    }
+
+    /**
+     * Get the fraction of dead ends removed.
+     *
+     * @return the fraction, from 0 to 1
+     */
+    public double getFraction() {
+        return fraction;
+    }
+}
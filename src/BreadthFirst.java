@@ -0,0 +1,49 @@
+/**
+ * Class that creates a mouse that finds the shortest route to the cheese with
+ * a breadth-first search, then follows it.
+ *
+ * @author Michael Quested
+ * @version 1.1
+ * @date 2026/10/18
+ */
+public class BreadthFirst extends PathFollower {
+
+    /**
+     * Constructor for class BreadthFirst.
+     *
+     * @param maze The maze that the mouse will be navigating.
+     */
+    public BreadthFirst(Maze maze) {
+        super(maze);
+    }
+
+    /**
+     * Search outwards from the start one layer at a time, so that the goal is
+     * first reached along a shortest route.
+     */
+    @Override
+    protected int[] findPath(int start, int goal) {
+        int width = maze.getWidth();
+        int[] offsets = {-width, 1, width, -1};
+        int[] parent = newParents();
+        int[] queue = new int[parent.length];
+        int head = 0, tail = 0;
+        queue[tail++] = start;
+        parent[start] = start;
+        while (head < tail) {
+            int cell = queue[head++];
+            nodesExpanded++;
+            if (cell == goal) {
+                return tracePath(parent, start, goal);
+            }
+            for (int offset : offsets) {
+                int neighbour = cell + offset;
+                if (parent[neighbour] < 0 && maze.isPassageAt(neighbour)) {
+                    parent[neighbour] = cell;
+                    queue[tail++] = neighbour;
+                }
+            }
+        }
+        return null;
+    }
+}
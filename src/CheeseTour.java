@@ -0,0 +1,333 @@
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.IntStream;
+
+/**
+ * An order in which to collect every piece of cheese in a maze, starting from
+ * a given cell, and the route that collects them.
+ *
+ * The distances between the start and every piece of cheese are found with
+ * one breadth-first search from each of them but the last; there is never a
+ * search per pair of pieces. The table is symmetric, so each search only
+ * measures the pieces after its own in the list, and stops as soon as it has
+ * reached them all. The searches are spread over the cores. The order is then
+ * built by always going on to the nearest piece not yet collected, and
+ * improved by 2-opt, reversing any stretch of the tour that makes it shorter,
+ * until no reversal helps.
+ *
+ * The searches step from room to room, the cells at odd coordinates, rather
+ * than from cell to cell: every move between two rooms crosses the cell
+ * between them, so each step is two moves and only a quarter of the grid is
+ * searched. Before searching, the open sides of every room are read from the
+ * maze once into a byte each, which also marks the rooms that a piece of
+ * cheese is in or next to. Each thread has two int arrays the size of the
+ * rooms for its searches; rather than being cleared before every search, a
+ * room counts as reached only if it is stamped with the number of the current
+ * search.
+ *
+ * @author Michael Quested
+ * @version 1.1
+ * @date 2026/10/18
+ */
+public class CheeseTour {
+
+    private final static int MAX_PASSES = 100;
+    private final static int NODE = 1 << 4;
+    private final Maze maze;
+    private final int width, columns;
+    private final int[] nodes;
+    private final long[] attached;
+    private final int[][] distance;
+    private final int[] order;
+    private final byte[] exits;
+    private final LongAdder expanded = new LongAdder();
+
+    /**
+     * Constructor for class CheeseTour. Measures the distances and plans the
+     * order.
+     *
+     * @param maze The maze holding the cheese
+     * @param start The packed index y * width + x of the cell to start from
+     */
+    public CheeseTour(Maze maze, int start) {
+        this.maze = maze;
+        width = maze.getWidth();
+        columns = width / 2;
+        int[] cheeses = maze.getCheeses();
+        nodes = new int[cheeses.length + 1];
+        nodes[0] = start;
+        System.arraycopy(cheeses, 0, nodes, 1, cheeses.length);
+
+        // The open sides of each room, one bit each in the order north,
+        // east, south, west, and whether a node is in it or next to it.
+        exits = new byte[columns * (maze.getDepth() / 2)];
+        for (int room = 0; room < exits.length; room++) {
+            int cell = (2 * (room / columns) + 1) * width + 2 * (room % columns) + 1;
+            exits[room] = (byte) ((maze.isPassageAt(cell - width) ? 1 : 0) | (maze.isPassageAt(cell + 1) ? 2 : 0)
+                    | (maze.isPassageAt(cell + width) ? 4 : 0) | (maze.isPassageAt(cell - 1) ? 8 : 0));
+        }
+
+        // Each node attached to the room it is in, or to both rooms either
+        // side of it, sorted by room. The lowest bit is the extra move from
+        // the room to the node.
+        attached = new long[2 * nodes.length];
+        int count = 0;
+        for (int node = 0; node < nodes.length; node++) {
+            int x = nodes[node] % width;
+            int y = nodes[node] / width;
+            if (!maze.isPassageAt(nodes[node])) {
+                throw new IllegalArgumentException("(" + x + ", " + y + ") is not a passage");
+            }
+            for (int room : roomsOf(x, y)) {
+                exits[room] |= NODE;
+                attached[count++] = (long) room << 32 | node << 1 | (x & y & 1 ^ 1);
+            }
+        }
+        Arrays.sort(attached, 0, count);
+        for (int i = count; i < attached.length; i++) {
+            attached[i] = Long.MAX_VALUE;
+        }
+
+        distance = new int[nodes.length][nodes.length];
+        final int threads = Math.max(1, Math.min(ForkJoinPool.getCommonPoolParallelism(), nodes.length - 1));
+        IntStream.range(0, threads).parallel().forEach(thread -> {
+            int[] stamp = new int[exits.length];
+            int[] queue = new int[exits.length];
+            int[] measured = new int[nodes.length];
+            long rooms = 0;
+            for (int i = thread; i < nodes.length - 1; i += threads) {
+                rooms += measureFrom(i, stamp, queue, measured);
+            }
+            expanded.add(rooms);
+        });
+        order = improve(nearestNeighbour());
+    }
+
+    /**
+     * Get the rooms a passage cell is in or next to.
+     *
+     * @return the room of a room cell, or the two rooms either side of any
+     * other passage
+     */
+    private int[] roomsOf(int x, int y) {
+        if ((x & 1) == 1 && (y & 1) == 1) {
+            return new int[] {(y / 2) * columns + x / 2};
+        }
+        if ((x & 1) == 1) {
+            return new int[] {(y / 2 - 1) * columns + x / 2, (y / 2) * columns + x / 2};
+        }
+        return new int[] {(y / 2) * columns + x / 2 - 1, (y / 2) * columns + x / 2};
+    }
+
+    /**
+     * Search outwards from a node, one layer of rooms at a time, until every
+     * node after it has been reached, filling in their distances to it.
+     *
+     * @return the number of rooms expanded
+     */
+    private int measureFrom(int from, int[] stamp, int[] queue, int[] measured) {
+        int search = from + 1;
+        int remaining = nodes.length - 1 - from;
+        for (int node = from + 1; node < nodes.length; node++) {
+            if (nodes[node] == nodes[from]) {
+                measured[node] = search;
+                remaining--;
+            }
+        }
+        int[] offsets = {-columns, 1, columns, -1};
+        int x = nodes[from] % width;
+        int y = nodes[from] / width;
+        int base = x & y & 1 ^ 1;
+        int head = 0, tail = 0;
+        for (int room : roomsOf(x, y)) {
+            queue[tail++] = room;
+            stamp[room] = search;
+        }
+        for (int layer = 0; remaining > 0 && head < tail; layer++) {
+            int end = tail;
+            while (head < end) {
+                int room = queue[head++];
+                int open = exits[room];
+                if ((open & NODE) != 0) {
+                    remaining -= reach(from, room, 2 * layer + base, search, measured);
+                    if (remaining == 0) {
+                        return head;
+                    }
+                }
+                for (int side = 0; side < 4; side++) {
+                    int neighbour = room + offsets[side];
+                    if ((open & (1 << side)) != 0 && stamp[neighbour] != search) {
+                        stamp[neighbour] = search;
+                        queue[tail++] = neighbour;
+                    }
+                }
+            }
+        }
+        if (remaining > 0) {
+            throw new IllegalStateException("Not every piece of cheese can be reached from (" + x + ", " + y + ")");
+        }
+        return head;
+    }
+
+    /**
+     * Record the distance to every node after the one searched from that is
+     * attached to a room the search has reached, unless it has already been
+     * reached through another room.
+     *
+     * @return the number of nodes newly reached
+     */
+    private int reach(int from, int room, int moves, int search, int[] measured) {
+        int i = Arrays.binarySearch(attached, (long) room << 32);
+        if (i < 0) {
+            i = -i - 1;
+        }
+        int count = 0;
+        for (; (int) (attached[i] >>> 32) == room; i++) {
+            int node = (int) attached[i] >>> 1;
+            if (node > from && measured[node] != search) {
+                measured[node] = search;
+                int d = moves + (int) (attached[i] & 1);
+                distance[from][node] = d;
+                distance[node][from] = d;
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Build a tour by always going on to the nearest node not yet visited.
+     *
+     * @return the nodes in the order visited, starting with the start
+     */
+    private int[] nearestNeighbour() {
+        int[] tour = new int[nodes.length];
+        boolean[] visited = new boolean[nodes.length];
+        visited[0] = true;
+        for (int i = 1; i < tour.length; i++) {
+            int[] row = distance[tour[i - 1]];
+            int nearest = -1;
+            for (int node = 1; node < nodes.length; node++) {
+                if (!visited[node] && (nearest < 0 || row[node] < row[nearest])) {
+                    nearest = node;
+                }
+            }
+            tour[i] = nearest;
+            visited[nearest] = true;
+        }
+        return tour;
+    }
+
+    /**
+     * Shorten a tour with 2-opt moves. The tour is open at its end, so
+     * reversing a stretch that runs to the end only changes one link.
+     *
+     * @param tour The nodes in the order visited, starting with the start
+     * @return the improved tour
+     */
+    private int[] improve(int[] tour) {
+        int last = tour.length - 1;
+        boolean improved = true;
+        for (int pass = 0; improved && pass < MAX_PASSES; pass++) {
+            improved = false;
+            for (int i = 1; i < last; i++) {
+                int[] before = distance[tour[i - 1]];
+                for (int j = i + 1; j <= last; j++) {
+                    int change = before[tour[j]] - before[tour[i]];
+                    if (j < last) {
+                        change += distance[tour[i]][tour[j + 1]] - distance[tour[j]][tour[j + 1]];
+                    }
+                    if (change < 0) {
+                        for (int a = i, b = j; a < b; a++, b--) {
+                            int swap = tour[a];
+                            tour[a] = tour[b];
+                            tour[b] = swap;
+                        }
+                        improved = true;
+                    }
+                }
+            }
+        }
+        return tour;
+    }
+
+    /**
+     * Get the pieces of cheese in the order the tour collects them.
+     *
+     * @return the packed index y * width + x of each piece of cheese
+     */
+    public int[] getOrder() {
+        int[] cells = new int[order.length - 1];
+        for (int i = 1; i < order.length; i++) {
+            cells[i - 1] = nodes[order[i]];
+        }
+        return cells;
+    }
+
+    /**
+     * Get the number of moves the tour takes.
+     *
+     * @return the length of the tour
+     */
+    public int getLength() {
+        int length = 0;
+        for (int i = 1; i < order.length; i++) {
+            length += distance[order[i - 1]][order[i]];
+        }
+        return length;
+    }
+
+    /**
+     * Get the route that collects every piece of cheese in order, joining a
+     * shortest route between each piece and the next.
+     *
+     * @return the cells of the route from the start to the last piece of
+     * cheese inclusive
+     */
+    public int[] getRoute() {
+        int[] route = new int[getLength() + 1];
+        route[0] = nodes[0];
+        int at = 1;
+        int[] parent = new int[width * maze.getDepth()];
+        int[] stamp = new int[parent.length];
+        int[] open = new int[parent.length];
+        int[] offsets = {-width, 1, width, -1};
+        for (int leg = 1; leg < order.length; leg++) {
+            int from = nodes[order[leg]];
+            int to = nodes[order[leg - 1]];
+            // Search back from the end of the leg, so that following the
+            // parents from its start runs forwards.
+            int head = 0, tail = 0;
+            open[tail++] = from;
+            stamp[from] = leg;
+            while (head < tail && stamp[to] != leg) {
+                int cell = open[head++];
+                for (int offset : offsets) {
+                    int neighbour = cell + offset;
+                    if (stamp[neighbour] != leg && maze.isPassageAt(neighbour)) {
+                        stamp[neighbour] = leg;
+                        parent[neighbour] = cell;
+                        open[tail++] = neighbour;
+                    }
+                }
+            }
+            expanded.add(head);
+            for (int cell = to; cell != from; ) {
+                cell = parent[cell];
+                route[at++] = cell;
+            }
+        }
+        return route;
+    }
+
+    /**
+     * Get the number of rooms the searches measuring the distances expanded,
+     * and of cells the searches joining up the route have expanded so far.
+     *
+     * @return the number of rooms and cells expanded
+     */
+    public long getNodesExpanded() {
+        return expanded.sum();
+    }
+}
@@ -0,0 +1,317 @@
+import java.util.Arrays;
+
+/**
+ * Class that creates a mouse that keeps a shortest route to the cheese with
+ * D* Lite, repairing the route when walls are opened or closed while it runs
+ * rather than searching the maze again from scratch.
+ *
+ * The search runs backwards from the cheese, so the distances it keeps stay
+ * true as the mouse moves, and each move is to the open neighbour nearest the
+ * cheese. Every cell has a distance g and a lookahead rhs, one more than the
+ * least distance of its open neighbours. A cell whose two disagree is queued,
+ * ordered by the lesser of them plus the Manhattan distance from the mouse,
+ * and the search settles queued cells only until the mouse's own cell is
+ * settled. When a wall changes, only the changed cell and its four neighbours
+ * are looked at again, and the repair settles just the cells whose distance
+ * the change alters on the way to the mouse.
+ *
+ * The mouse listens to the maze's walls while it runs. Changes can be made on
+ * any thread; they are queued and repaired on the mouse's own thread before
+ * its next move, one change at a time, and the time each repair takes is
+ * recorded. The cheese is taken to stay where it is while the mouse runs.
+ *
+ * @author Michael Quested
+ * @version 1.1
+ * @date 2026/10/18
+ */
+public class DStarLite extends Mouse implements WallListener {
+
+    private final static int INFINITY = Integer.MAX_VALUE;
+    private final int width;
+    private final int[] offsets;
+    private final IntList changes = new IntList();
+    private volatile boolean changed;
+    private int[] g, rhs;
+    private LongMinHeap open;
+    private int last;
+    private long km;
+    private long cellsUpdated, searchNanos;
+    private long repairs, repairNanos, maxRepairNanos;
+
+    /**
+     * Constructor for class DStarLite.
+     *
+     * @param maze The maze that the mouse will be navigating.
+     */
+    public DStarLite(Maze maze) {
+        super(maze);
+        width = maze.getWidth();
+        offsets = new int[] {-width, 1, width, -1};
+    }
+
+    /**
+     * Begin the mouse's search for the cheese, listening for changes to the
+     * walls until it ends.
+     */
+    @Override
+    public void go() throws InterruptedException {
+        maze.addWallListener(this);
+        try {
+            super.go();
+        } finally {
+            maze.removeWallListener(this);
+        }
+    }
+
+    /**
+     * Search for the cheese without notifying the maze's listeners, listening
+     * for changes to the walls until it ends.
+     */
+    @Override
+    public void run() {
+        maze.addWallListener(this);
+        try {
+            super.run();
+        } finally {
+            maze.removeWallListener(this);
+        }
+    }
+
+    /**
+     * Queue a changed cell to be repaired before the next move.
+     */
+    @Override
+    public void wallChanged(int x, int y, boolean passage) {
+        synchronized (changes) {
+            changes.add((y * width + x) << 1 | (passage ? 1 : 0));
+            changed = true;
+        }
+    }
+
+    /**
+     * Repair the route for any walls that have changed, then step to the
+     * neighbour nearest the cheese, or give up if the cheese has been walled
+     * off.
+     */
+    @Override
+    public void move() {
+        repair();
+        int start = currentPosY * width + currentPosX;
+        if (rhs[start] == INFINITY) {
+            giveUp();
+            return;
+        }
+        int next = start;
+        for (int offset : offsets) {
+            int neighbour = start + offset;
+            if (g[neighbour] < g[next] && maze.isPassageAt(neighbour)) {
+                next = neighbour;
+            }
+        }
+        currentPosX = next % width;
+        currentPosY = next / width;
+    }
+
+    /**
+     * Bring the route up to date with the walls now, rather than waiting for
+     * the next move, searching from the cheese first if there is no route
+     * yet.
+     */
+    public void repair() {
+        int start = currentPosY * width + currentPosX;
+        if (g == null) {
+            plan(start);
+        }
+        if (changed) {
+            repair(start);
+        }
+    }
+
+    /**
+     * Search from every piece of cheese until the distance of the start is
+     * known, timing the search.
+     */
+    private void plan(int start) {
+        long began = System.nanoTime();
+        g = new int[width * maze.getDepth()];
+        rhs = new int[g.length];
+        Arrays.fill(g, INFINITY);
+        Arrays.fill(rhs, INFINITY);
+        open = new LongMinHeap(1024);
+        last = start;
+        for (int cheese : maze.getCheeses()) {
+            rhs[cheese] = 0;
+            open.push(key(cheese, start), cheese);
+        }
+        settle(start);
+        searchNanos = System.nanoTime() - began;
+    }
+
+    /**
+     * Repair the distances for each wall changed since the last move, one
+     * change at a time, recording how long each repair took.
+     */
+    private void repair(int start) {
+        int[] pending;
+        synchronized (changes) {
+            pending = changes.toArray();
+            changes.clear();
+            changed = false;
+        }
+        for (int change : pending) {
+            RepairEvent event = new RepairEvent();
+            event.begin();
+            long began = System.nanoTime();
+            long settled = cellsUpdated;
+            int cell = change >>> 1;
+            km += manhattan(last, start);
+            last = start;
+            update(cell, start);
+            for (int offset : offsets) {
+                update(cell + offset, start);
+            }
+            settle(start);
+            long nanos = System.nanoTime() - began;
+            repairs++;
+            repairNanos += nanos;
+            maxRepairNanos = Math.max(maxRepairNanos, nanos);
+            Metric.REPAIR.record(nanos);
+            if (event.shouldCommit()) {
+                event.mouse = getClass().getSimpleName();
+                event.x = cell % width;
+                event.y = cell / width;
+                event.opened = (change & 1) != 0;
+                event.cellsUpdated = cellsUpdated - settled;
+                event.commit();
+            }
+        }
+    }
+
+    /**
+     * Settle queued cells in order of their keys until the start is settled
+     * and no queued cell could change its distance. An entry whose key has
+     * grown since it was queued goes back with its new key; one whose cell is
+     * already settled is stale and skipped.
+     */
+    private void settle(int start) {
+        while (!open.isEmpty() && (open.peekKey() < key(start, start) || rhs[start] != g[start])) {
+            long queued = open.peekKey();
+            int cell = open.pop();
+            if (g[cell] == rhs[cell]) {
+                continue;
+            }
+            long now = key(cell, start);
+            if (queued < now) {
+                open.push(now, cell);
+                continue;
+            }
+            cellsUpdated++;
+            if (g[cell] > rhs[cell]) {
+                g[cell] = rhs[cell];
+            } else {
+                g[cell] = INFINITY;
+                update(cell, start);
+            }
+            for (int offset : offsets) {
+                update(cell + offset, start);
+            }
+        }
+    }
+
+    /**
+     * Work out the lookahead of a cell again from its open neighbours, and
+     * queue it if it no longer agrees with the cell's distance. A wall has no
+     * neighbours, and a piece of cheese, the only cell with a lookahead of 0,
+     * always stays at 0.
+     */
+    private void update(int cell, int start) {
+        if (rhs[cell] != 0) {
+            int nearest = INFINITY;
+            if (maze.isPassageAt(cell)) {
+                for (int offset : offsets) {
+                    if (maze.isPassageAt(cell + offset)) {
+                        nearest = Math.min(nearest, g[cell + offset]);
+                    }
+                }
+            }
+            rhs[cell] = nearest == INFINITY ? INFINITY : nearest + 1;
+        }
+        if (g[cell] != rhs[cell]) {
+            open.push(key(cell, start), cell);
+        }
+    }
+
+    /**
+     * Get the key a cell is queued by: the lesser of its distance and its
+     * lookahead plus its Manhattan distance from the start, with km added for
+     * every move the start has made since the search began, then the lesser
+     * of the two alone to break ties, packed into one long.
+     */
+    private long key(int cell, int start) {
+        int distance = Math.min(g[cell], rhs[cell]);
+        if (distance == INFINITY) {
+            return Long.MAX_VALUE;
+        }
+        return (distance + manhattan(cell, start) + km) << 31 | distance;
+    }
+
+    private int manhattan(int from, int to) {
+        return Math.abs(from % width - to % width) + Math.abs(from / width - to / width);
+    }
+
+    /**
+     * Get the length of the route from the mouse to the cheese as it stands.
+     *
+     * @return the number of moves to the cheese, or -1 if no route is known
+     */
+    public int getPathLength() {
+        int start = currentPosY * width + currentPosX;
+        return g == null || g[start] == INFINITY ? -1 : g[start];
+    }
+
+    /**
+     * Get the number of times a cell's distance was settled, by the first
+     * search and every repair since.
+     *
+     * @return the number of cells settled
+     */
+    public long getCellsUpdated() {
+        return cellsUpdated;
+    }
+
+    /**
+     * Get the wall-clock time the first search took.
+     *
+     * @return the search time in nanoseconds
+     */
+    public long getSearchNanos() {
+        return searchNanos;
+    }
+
+    /**
+     * Get the number of wall changes the route has been repaired for.
+     *
+     * @return the number of repairs
+     */
+    public long getRepairs() {
+        return repairs;
+    }
+
+    /**
+     * Get the total wall-clock time spent repairing the route.
+     *
+     * @return the repair time in nanoseconds
+     */
+    public long getRepairNanos() {
+        return repairNanos;
+    }
+
+    /**
+     * Get the longest time a single repair took.
+     *
+     * @return the longest repair in nanoseconds
+     */
+    public long getMaxRepairNanos() {
+        return maxRepairNanos;
+    }
+}
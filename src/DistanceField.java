@@ -0,0 +1,94 @@
+/**
+ * The distance of every cell of a maze from the nearest of one or more goal
+ * cells, found with a single breadth-first search outwards from all of the
+ * goals at once. The search is a {@link BitFlood}, which moves a whole layer
+ * at a time over the passages packed into words. Once built, a shortest
+ * route from any cell to its nearest goal is found by stepping downhill
+ * through the field, in time proportional to the length of the route.
+ *
+ * @author Michael Quested
+ * @version 1.1
+ * @date 2026/10/18
+ */
+public class DistanceField {
+
+    private final int width, goal;
+    private final int[] distance;
+
+    /**
+     * Constructor for class DistanceField. Searches the whole maze from the
+     * goal.
+     *
+     * @param maze The maze to measure
+     * @param goalX The grid position x of the goal
+     * @param goalY The grid position y of the goal
+     */
+    public DistanceField(Maze maze, int goalX, int goalY) {
+        this(maze, new int[] {goalY * maze.getWidth() + goalX});
+    }
+
+    /**
+     * Constructor for class DistanceField. Searches the whole maze from every
+     * goal at once, so each cell is measured to its nearest goal.
+     *
+     * @param maze The maze to measure
+     * @param goals The packed index y * width + x of each goal, at least one
+     */
+    public DistanceField(Maze maze, int[] goals) {
+        width = maze.getWidth();
+        goal = goals[0];
+        distance = new BitFlood(maze).distances(goals);
+    }
+
+    /**
+     * Get the distance of a cell from its nearest goal.
+     *
+     * @param cell The packed index of the cell, y * width + x
+     * @return the number of moves to the nearest goal, or -1 if none can be
+     * reached
+     */
+    public int distanceFrom(int cell) {
+        return distance[cell];
+    }
+
+    /**
+     * Get a shortest route from a cell to its nearest goal by always stepping
+     * to a neighbour one move closer.
+     *
+     * @param start The packed index of the cell to start from
+     * @return the cells of the route from start to goal inclusive, or null if
+     * no goal can be reached
+     */
+    public int[] pathFrom(int start) {
+        if (distance[start] < 0) {
+            return null;
+        }
+        int[] path = new int[distance[start] + 1];
+        int cell = start;
+        path[0] = cell;
+        for (int i = 1; i < path.length; i++) {
+            int closer = distance[cell] - 1;
+            if (distance[cell - width] == closer) {
+                cell -= width;
+            } else if (distance[cell + 1] == closer) {
+                cell += 1;
+            } else if (distance[cell + width] == closer) {
+                cell += width;
+            } else {
+                cell -= 1;
+            }
+            path[i] = cell;
+        }
+        return path;
+    }
+
+    /**
+     * Get the goal the field measures distances to, or the first of them if
+     * there are several.
+     *
+     * @return the packed index of the goal cell
+     */
+    public int getGoal() {
+        return goal;
+    }
+}
@@ -0,0 +1,31 @@
+/**
+ * A maze generated using Eller's algorithm, streamed row by row into its grid
+ * by an {@link EllerMazeGenerator}.
+ *
+ * @author Michael Quested
+ * @version 1.1
+ * @date 2026/10/18
+ */
+public class Eller extends Maze {
+
+    /**
+     * Constructor for class Eller.
+     *
+     * @param width The grid width of the maze
+     * @param depth The grid depth of the maze
+     */
+    public Eller(int width, int depth) {
+        super(width, depth, new EllerMazeGenerator());
+    }
+
+    /**
+     * Constructor for class Eller, generating the maze from a given seed.
+     *
+     * @param width The grid width of the maze
+     * @param depth The grid depth of the maze
+     * @param seed The seed to generate the maze from
+     */
+    public Eller(int width, int depth, long seed) {
+        super(width, depth, seed, new EllerMazeGenerator());
+    }
+}
@@ -0,0 +1,161 @@
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.random.RandomGenerator;
+
+/**
+ * Generates a maze one row at a time using Eller's algorithm, passing each
+ * finished row on to a {@link RowSink}.
+ *
+ * Only the current row is held. The sets that the cells of a row belong to
+ * are kept as circular linked lists in two int arrays, so that joining two
+ * sets or taking a cell out of one is constant time. The memory used depends
+ * on the width alone, and a maze can be streamed for as many rows as wanted.
+ *
+ * @author Michael Quested
+ * @version 1.1
+ * @date 2026/10/18
+ */
+public class EllerGenerator {
+
+    private final int width, cells;
+    private final RandomGenerator random;
+    private final RowSink sink;
+    private final int[] left, right;
+    private final long[] cellRow, belowRow;
+    private long y;
+
+    /**
+     * Constructor for class EllerGenerator.
+     *
+     * @param width The grid width of the maze, rounded up to an odd number
+     * @param random The source of randomness
+     * @param sink The sink to pass each finished row to
+     */
+    public EllerGenerator(int width, RandomGenerator random, RowSink sink) {
+        if (width < 3) {
+            throw new IllegalArgumentException("Width must be at least 3, got " + width);
+        }
+        this.width = width % 2 == 0 ? width + 1 : width;
+        this.random = random;
+        this.sink = sink;
+        cells = (this.width - 1) / 2;
+        left = new int[cells];
+        right = new int[cells];
+        cellRow = new long[(this.width + 63) >>> 6];
+        belowRow = new long[cellRow.length];
+    }
+
+    /**
+     * Generate a complete maze of the specified grid depth.
+     *
+     * @param depth The grid depth of the maze, rounded up to an odd number
+     */
+    public void generate(long depth) throws IOException {
+        if (depth < 3) {
+            throw new IllegalArgumentException("Depth must be at least 3, got " + depth);
+        }
+        long rows = (depth % 2 == 0 ? depth + 1 : depth) / 2;
+        start();
+        for (long row = 1; row < rows; row++) {
+            nextRow();
+        }
+        finish();
+    }
+
+    /**
+     * Start a new maze, emitting the wall along its top edge. Every cell of
+     * the first row starts out in a set of its own.
+     */
+    public void start() throws IOException {
+        for (int c = 0; c < cells; c++) {
+            left[c] = c;
+            right[c] = c;
+        }
+        y = 0;
+        Arrays.fill(cellRow, 0L);
+        sink.acceptRow(y++, cellRow, width);
+    }
+
+    /**
+     * Generate the next row of the maze, emitting it along with the row of
+     * walls and passages below it. At least one cell of every set carries on
+     * down to the next row.
+     */
+    public void nextRow() throws IOException {
+        Arrays.fill(cellRow, 0L);
+        Arrays.fill(belowRow, 0L);
+        for (int c = 0; c < cells; c++) {
+            setBit(cellRow, 2 * c + 1);
+            if (c < cells - 1 && right[c] != c + 1 && random.nextBoolean()) {
+                join(c);
+            }
+            if (right[c] != c && random.nextBoolean()) {
+                // Leave the set, which still carries on down through another
+                // cell; the cell below starts a set of its own.
+                left[right[c]] = left[c];
+                right[left[c]] = right[c];
+                left[c] = c;
+                right[c] = c;
+            } else {
+                setBit(belowRow, 2 * c + 1);
+            }
+        }
+        sink.acceptRow(y++, cellRow, width);
+        sink.acceptRow(y++, belowRow, width);
+    }
+
+    /**
+     * Generate the last row of the maze, joining every set that is still
+     * apart, and emit it along with the wall along the bottom edge.
+     */
+    public void finish() throws IOException {
+        Arrays.fill(cellRow, 0L);
+        for (int c = 0; c < cells; c++) {
+            setBit(cellRow, 2 * c + 1);
+            if (c < cells - 1 && right[c] != c + 1) {
+                join(c);
+            }
+        }
+        sink.acceptRow(y++, cellRow, width);
+        Arrays.fill(cellRow, 0L);
+        sink.acceptRow(y++, cellRow, width);
+    }
+
+    /**
+     * Get the grid width of the maze.
+     *
+     * @return the grid width of the maze
+     */
+    public int getWidth() {
+        return width;
+    }
+
+    /**
+     * Get the number of rows emitted so far.
+     *
+     * @return the number of rows emitted
+     */
+    public long getRowsEmitted() {
+        return y;
+    }
+
+    /**
+     * Join the set of a cell to the set of the cell on its right, knocking
+     * down the wall between them. The sets of a row never cross each other,
+     * so the two cells are in the same set exactly when the next cell of the
+     * set after c is c + 1.
+     *
+     * @param c The cell to join to its right-hand neighbour
+     */
+    private void join(int c) {
+        left[right[c]] = left[c + 1];
+        right[left[c + 1]] = right[c];
+        right[c] = c + 1;
+        left[c + 1] = c;
+        setBit(cellRow, 2 * c + 2);
+    }
+
+    private static void setBit(long[] row, int x) {
+        row[x >>> 6] |= 1L << x;
+    }
+}
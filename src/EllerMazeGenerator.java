@@ -0,0 +1,35 @@
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.random.RandomGenerator;
+
+/**
+ * Generates maze coordinates using Eller's algorithm, streaming the rows from
+ * an {@link EllerGenerator} into the grid of the maze.
+ *
+ * @author Michael Quested
+ * @version 1.1
+ * @date 2026/10/18
+ */
+public class EllerMazeGenerator implements Generator {
+
+    /**
+     * Generate the maze row by row, overwriting every cell of the grid.
+     */
+    @Override
+    public void generate(final Maze maze, RandomGenerator random) {
+        RowSink sink = new RowSink() {
+            @Override
+            public void acceptRow(long y, long[] row, int rowWidth) {
+                for (int x = 0; x < rowWidth; x++) {
+                    maze.setPassage(x, (int) y, (row[x >>> 6] & (1L << x)) != 0);
+                }
+            }
+        };
+        try {
+            new EllerGenerator(maze.getWidth(), random, sink).generate(maze.getDepth());
+            maze.countVisited((long) (maze.getWidth() / 2) * (maze.getDepth() / 2));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
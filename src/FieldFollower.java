@@ -0,0 +1,41 @@
+/**
+ * Class that creates a mouse that follows the maze's distance field downhill
+ * to the cheese. The field is shared by every mouse in the maze, so after it
+ * has been built each mouse finds its route in time proportional to the
+ * length of the route.
+ *
+ * @author Michael Quested
+ * @version 1.1
+ * @date 2026/10/18
+ */
+public class FieldFollower extends PathFollower {
+
+    /**
+     * Constructor for class FieldFollower.
+     *
+     * @param maze The maze that the mouse will be navigating.
+     */
+    public FieldFollower(Maze maze) {
+        super(maze);
+    }
+
+    /**
+     * Descend the distance field from the start, building the field first if
+     * the maze does not have one yet.
+     */
+    @Override
+    protected int[] findPath(int start, int goal) {
+        int[] path = maze.getDistanceField().pathFrom(start);
+        nodesExpanded = path == null ? 0 : path.length;
+        return path;
+    }
+
+    /**
+     * The field leads to the nearest piece of cheese, not necessarily the
+     * goal plan() asks for, so its routes are never cached.
+     */
+    @Override
+    protected boolean isCacheable() {
+        return false;
+    }
+}
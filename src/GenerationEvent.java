@@ -0,0 +1,31 @@
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight Recorder event for the generation of a maze.
+ *
+ * @author Michael Quested
+ * @version 1.1
+ * @date 2026/10/18
+ */
+@Name("mazemouse.Generation")
+@Label("Maze Generation")
+@Category("Maze Mouse")
+@Description("A maze generator carving a new maze")
+public class GenerationEvent extends Event {
+
+    @Label("Generator")
+    String generator;
+
+    @Label("Width")
+    int width;
+
+    @Label("Depth")
+    int depth;
+
+    @Label("Cells Visited")
+    long cellsVisited;
+}
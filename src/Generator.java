@@ -0,0 +1,62 @@
+import java.util.random.RandomGenerator;
+
+/**
+ * An algorithm for generating the passages of a maze.
+ *
+ * A generator is handed a maze whose cells are all walls, and carves a
+ * perfect maze into it: every cell at odd coordinates becomes a passage, and
+ * exactly one path joins any two of them. It writes the maze with
+ * setPassage() and reads back what it has carved with isCarved(), which
+ * always reads the maze's own grid. It may use the
+ * maze's visited cells as scratch between resetVisited() and
+ * releaseVisited(), and reports the cells it visited with countVisited(). It
+ * must draw all of its randomness from the source it is given, so that the
+ * same seed always gives the same maze.
+ *
+ * A generator may keep buffers between runs, so an instance should only be
+ * used by one maze at a time. The generators that come with the program can
+ * be created by name, and any of them can be wrapped in a
+ * {@link BraidGenerator} to give a maze with loops instead.
+ *
+ * @author Michael Quested
+ * @version 1.1
+ * @date 2026/10/18
+ */
+public interface Generator {
+
+    /**
+     * The names of the generators that come with the program.
+     */
+    String[] NAMES = {"Recursive Backtracker", "Eller", "Kruskal", "Prim", "Wilson"};
+
+    /**
+     * Carve the passages of a maze.
+     *
+     * @param maze The maze to carve, all walls
+     * @param random The source of randomness
+     */
+    void generate(Maze maze, RandomGenerator random);
+
+    /**
+     * Create one of the generators that come with the program.
+     *
+     * @param name The name of the generator, one of NAMES
+     * @return a new instance of the generator
+     */
+    static Generator create(String name) {
+        switch (name) {
+            case "Recursive Backtracker":
+                return new BacktrackerGenerator();
+            case "Eller":
+                return new EllerMazeGenerator();
+            case "Kruskal":
+                return new KruskalGenerator();
+            case "Prim":
+                return new PrimGenerator();
+            case "Wilson":
+                return new WilsonGenerator();
+            default:
+                throw new IllegalArgumentException("No generator " + name);
+        }
+    }
+}
@@ -0,0 +1,245 @@
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * A maze without edges, spread over the whole plane of int coordinates. The
+ * plane is divided into square chunks that are generated only when a cell
+ * inside them is first asked about, and held in a bounded cache that drops
+ * the least recently used chunk once it is full. Any chunk can be generated
+ * again at will, as its cells depend only on the seed of the maze and the
+ * position of the chunk, so a mouse can wander indefinitely in bounded memory.
+ *
+ * Each chunk is a perfect maze of its own, with its wall along the west and
+ * north edges. To stitch chunks together, each chunk opens a single passage
+ * through either its west or its north wall, into the chunk it counts as its
+ * parent. Every chunk has exactly one parent, so no loops are formed, and the
+ * chains of parents merge, so the whole plane is one maze.
+ *
+ * Coordinates run the full range of int, either side of zero. getWidth and
+ * getDepth return Integer.MAX_VALUE, and the methods that work on packed cell
+ * indices are not supported, so the mice to use here are those that only look
+ * at the cells around them, such as WallFollower. The cache is not safe for
+ * use by more than one thread at once.
+ *
+ * @author Michael Quested
+ * @version 1.1
+ * @date 2026/10/18
+ */
+public class InfiniteMaze extends Maze {
+
+    /** The width and depth of a chunk in grid cells; each row is one long. */
+    public final static int CHUNK_SIZE = 64;
+    private final static int CHUNK_SHIFT = 6;
+    private final static int CELLS = CHUNK_SIZE / 2;
+
+    private final LinkedHashMap<Long, long[]> chunks;
+    private long lastKey = Long.MIN_VALUE;
+    private long[] lastChunk;
+    private long generated, evicted;
+    private final int[] stack = new int[CELLS * CELLS];
+    private final int[] neighbours = new int[4];
+
+    /**
+     * Constructor for class InfiniteMaze.
+     *
+     * @param seed The seed to generate the chunks from
+     * @param cacheSize The most chunks to hold at once
+     */
+    public InfiniteMaze(long seed, final int cacheSize) {
+        super(null, Integer.MAX_VALUE, Integer.MAX_VALUE);
+        if (cacheSize < 1) {
+            throw new IllegalArgumentException("Cache size must be at least 1, got " + cacheSize);
+        }
+        this.seed = seed;
+        chunks = new LinkedHashMap<Long, long[]>(cacheSize * 2, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, long[]> eldest) {
+                if (size() > cacheSize) {
+                    evicted++;
+                    return true;
+                }
+                return false;
+            }
+        };
+        setSeed(seed);
+    }
+
+    /**
+     * Chunks are generated on demand, so there is nothing to set up.
+     */
+    @Override
+    public void setup() {
+    }
+
+    /**
+     * Check if a specified set of coordinates is a passage or a wall,
+     * generating the chunk it lies in if it is not cached.
+     */
+    @Override
+    public boolean isPassage(int x, int y) {
+        int chunkX = x >> CHUNK_SHIFT;
+        int chunkY = y >> CHUNK_SHIFT;
+        long key = (long) chunkX << 32 | chunkY & 0xFFFFFFFFL;
+        long[] chunk;
+        if (key == lastKey) {
+            chunk = lastChunk;
+        } else {
+            chunk = chunks.get(key);
+            if (chunk == null) {
+                chunk = generateChunk(chunkX, chunkY);
+                chunks.put(key, chunk);
+            }
+            lastKey = key;
+            lastChunk = chunk;
+        }
+        return (chunk[y & (CHUNK_SIZE - 1)] & (1L << x)) != 0;
+    }
+
+    /**
+     * Packed cell indices cannot address an unbounded plane.
+     */
+    @Override
+    public boolean isPassageAt(int cell) {
+        throw new UnsupportedOperationException("An infinite maze has no packed cell indices");
+    }
+
+    /**
+     * An unbounded row cannot be read a word at a time from a fixed grid.
+     */
+    @Override
+    public long getPassageBits(int x, int y) {
+        throw new UnsupportedOperationException("An infinite maze has no rows of fixed width");
+    }
+
+    /**
+     * Place the cheese. An infinite maze has no grid to mark more than one
+     * piece in, so it holds a single piece at a time.
+     */
+    @Override
+    public void addCheese(int x, int y) {
+        if (cheeseIsSet && !isCheese(x, y)) {
+            throw new UnsupportedOperationException("An infinite maze holds a single piece of cheese");
+        }
+        super.addCheese(x, y);
+    }
+
+    /**
+     * Chunks are generated from the seed alone, so their cells cannot be
+     * changed.
+     */
+    @Override
+    protected void setPassage(int x, int y, boolean passage) {
+        throw new UnsupportedOperationException("An infinite maze is read-only");
+    }
+
+    /**
+     * Drop every cached chunk, so that the maze is generated afresh from the
+     * current seed.
+     */
+    @Override
+    protected void clearPassages() {
+        chunks.clear();
+        lastKey = Long.MIN_VALUE;
+        lastChunk = null;
+    }
+
+    /**
+     * Get the number of chunks held in the cache.
+     *
+     * @return the number of cached chunks
+     */
+    public int getCachedChunks() {
+        return chunks.size();
+    }
+
+    /**
+     * Get the number of chunks generated, counting those generated again
+     * after being dropped from the cache.
+     *
+     * @return the number of chunks generated
+     */
+    public long getChunksGenerated() {
+        return generated;
+    }
+
+    /**
+     * Get the number of chunks dropped from the cache to make room.
+     *
+     * @return the number of chunks evicted
+     */
+    public long getChunksEvicted() {
+        return evicted;
+    }
+
+    /**
+     * Generate a chunk as a perfect maze with the recursive backtracker, then
+     * open the passage to its parent.
+     *
+     * @param chunkX The position x of the chunk, in chunks
+     * @param chunkY The position y of the chunk, in chunks
+     * @return the rows of the chunk, one long per row with bit x set for a
+     * passage
+     */
+    private long[] generateChunk(int chunkX, int chunkY) {
+        generated++;
+        long[] rows = new long[CHUNK_SIZE];
+        SplittableRandom random = new SplittableRandom(mix(seed ^ mix(chunkX ^ mix(chunkY))));
+
+        // Carve among the cells, held as i + j * CELLS for the cell at local
+        // grid position (2i + 1, 2j + 1).
+        long[] visited = new long[CELLS];
+        int top = 0;
+        stack[top++] = 0;
+        visited[0] |= 1L;
+        rows[1] |= 1L << 1;
+        while (top > 0) {
+            int cell = stack[top - 1];
+            int i = cell % CELLS;
+            int j = cell / CELLS;
+            int count = 0;
+            if (j > 0 && (visited[j - 1] & (1L << i)) == 0) {
+                neighbours[count++] = cell - CELLS;
+            }
+            if (i < CELLS - 1 && (visited[j] & (1L << (i + 1))) == 0) {
+                neighbours[count++] = cell + 1;
+            }
+            if (j < CELLS - 1 && (visited[j + 1] & (1L << i)) == 0) {
+                neighbours[count++] = cell + CELLS;
+            }
+            if (i > 0 && (visited[j] & (1L << (i - 1))) == 0) {
+                neighbours[count++] = cell - 1;
+            }
+            if (count == 0) {
+                top--;
+                continue;
+            }
+            int next = neighbours[count == 1 ? 0 : random.nextInt(count)];
+            int nextI = next % CELLS;
+            int nextJ = next / CELLS;
+            visited[nextJ] |= 1L << nextI;
+            rows[2 * nextJ + 1] |= 1L << (2 * nextI + 1);
+            rows[j + nextJ + 1] |= 1L << (i + nextI + 1);
+            stack[top++] = next;
+        }
+
+        // Open the way to the parent chunk, to the west or to the north.
+        int opening = 2 * random.nextInt(CELLS) + 1;
+        if (random.nextBoolean()) {
+            rows[opening] |= 1L;
+        } else {
+            rows[0] |= 1L << opening;
+        }
+        return rows;
+    }
+
+    /**
+     * Scramble the bits of a value, so that chunks next to each other get
+     * unrelated seeds.
+     */
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
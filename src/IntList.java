@@ -0,0 +1,72 @@
+import java.util.Arrays;
+
+/**
+ * A growable list of primitive ints, used wherever cell indices are collected
+ * in bulk so that they are never boxed.
+ *
+ * @author Michael Quested
+ * @version 1.1
+ * @date 2026/10/18
+ */
+public class IntList {
+
+    private int[] values;
+    private int size;
+
+    /**
+     * Constructor for class IntList.
+     */
+    public IntList() {
+        values = new int[16];
+    }
+
+    /**
+     * Append a value to the end of the list.
+     *
+     * @param value The value to append
+     */
+    public void add(int value) {
+        if (size == values.length) {
+            values = Arrays.copyOf(values, size * 2);
+        }
+        values[size++] = value;
+    }
+
+    /**
+     * Get the value at a position in the list.
+     *
+     * @param index The position of the value
+     * @return the value at that position
+     */
+    public int get(int index) {
+        if (index >= size) {
+            throw new IndexOutOfBoundsException("Index " + index + ", size " + size);
+        }
+        return values[index];
+    }
+
+    /**
+     * Get the number of values in the list.
+     *
+     * @return the size of the list
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Remove every value from the list, keeping its storage for reuse.
+     */
+    public void clear() {
+        size = 0;
+    }
+
+    /**
+     * Copy the values of the list into a new array.
+     *
+     * @return the values of the list
+     */
+    public int[] toArray() {
+        return Arrays.copyOf(values, size);
+    }
+}
@@ -0,0 +1,114 @@
+import java.util.Arrays;
+
+/**
+ * A binary min-heap of int values ordered by int keys, held in two parallel
+ * primitive arrays so that nothing is boxed. Values are not unique; a search
+ * that lowers a key pushes the value again and skips the stale entry when it
+ * is popped.
+ *
+ * @author Michael Quested
+ * @version 1.1
+ * @date 2026/10/18
+ */
+public class IntMinHeap {
+
+    private int[] keys, values;
+    private int size;
+
+    /**
+     * Constructor for class IntMinHeap.
+     *
+     * @param capacity The number of entries to make room for up front
+     */
+    public IntMinHeap(int capacity) {
+        keys = new int[Math.max(capacity, 16)];
+        values = new int[keys.length];
+    }
+
+    /**
+     * Add a value to the heap.
+     *
+     * @param key The key to order the value by
+     * @param value The value to add
+     */
+    public void push(int key, int value) {
+        if (size == keys.length) {
+            keys = Arrays.copyOf(keys, size * 2);
+            values = Arrays.copyOf(values, size * 2);
+        }
+        int i = size++;
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (keys[parent] <= key) {
+                break;
+            }
+            keys[i] = keys[parent];
+            values[i] = values[parent];
+            i = parent;
+        }
+        keys[i] = key;
+        values[i] = value;
+    }
+
+    /**
+     * Get the smallest key in the heap.
+     *
+     * @return the smallest key
+     */
+    public int peekKey() {
+        return keys[0];
+    }
+
+    /**
+     * Remove the value with the smallest key from the heap.
+     *
+     * @return the value with the smallest key
+     */
+    public int pop() {
+        int top = values[0];
+        int key = keys[--size];
+        int value = values[size];
+        int i = 0;
+        int half = size >>> 1;
+        while (i < half) {
+            int child = 2 * i + 1;
+            if (child + 1 < size && keys[child + 1] < keys[child]) {
+                child++;
+            }
+            if (key <= keys[child]) {
+                break;
+            }
+            keys[i] = keys[child];
+            values[i] = values[child];
+            i = child;
+        }
+        keys[i] = key;
+        values[i] = value;
+        return top;
+    }
+
+    /**
+     * Check if the heap is empty.
+     *
+     * @return true if there are no entries, false if there are
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Get the number of entries in the heap.
+     *
+     * @return the number of entries
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Remove every entry, keeping the storage for reuse.
+     */
+    public void clear() {
+        size = 0;
+    }
+}
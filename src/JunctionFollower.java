@@ -0,0 +1,40 @@
+/**
+ * Class that creates a mouse that finds the shortest route to the cheese by
+ * searching the maze's junction graph, where each corridor is a single
+ * weighted edge, then follows it cell by cell.
+ *
+ * @author Michael Quested
+ * @version 1.1
+ * @date 2026/10/18
+ */
+public class JunctionFollower extends PathFollower {
+
+    private JunctionGraph graph;
+    private JunctionGraph.Search search;
+
+    /**
+     * Constructor for class JunctionFollower.
+     *
+     * @param maze The maze that the mouse will be navigating.
+     */
+    public JunctionFollower(Maze maze) {
+        super(maze);
+    }
+
+    /**
+     * Search the junction graph, building it first if the maze does not have
+     * one yet. The search is kept for the next route, and started again only
+     * when the maze has built a new graph.
+     */
+    @Override
+    protected int[] findPath(int start, int goal) {
+        JunctionGraph current = maze.getJunctionGraph();
+        if (current != graph) {
+            graph = current;
+            search = current.newSearch();
+        }
+        int[] path = search.findPath(start, goal);
+        nodesExpanded = search.getNodesExpanded();
+        return path;
+    }
+}
@@ -0,0 +1,362 @@
+import java.util.Arrays;
+
+/**
+ * A weighted graph of the junctions and dead ends of a maze, with each
+ * corridor between them collapsed into a single edge weighted by its length.
+ * Most cells of a perfect maze lie on corridors, so the graph is far smaller
+ * than the grid and a search over it is correspondingly faster.
+ *
+ * Nodes are the passage cells with other than two passage neighbours, kept in
+ * order of their packed cell index. Edges are held in compressed rows: the
+ * edges leaving node n are those from edgeStart[n] up to edgeStart[n + 1].
+ * Rather than storing the cells of a corridor, an edge stores the direction of
+ * its first step, and the corridor is walked again when a route is expanded
+ * back into cells. Corridors that loop back on themselves without meeting a
+ * junction cannot be reached from any node and are left out.
+ *
+ * @author Michael Quested
+ * @version 1.1
+ * @date 2026/10/18
+ */
+public class JunctionGraph {
+
+    private final Maze maze;
+    private final int width;
+    private final int[] offsets;
+    private final int[] nodeCell, edgeStart, edgeTarget, edgeWeight;
+    private final byte[] edgeStep;
+    private long passages;
+
+    /**
+     * Constructor for class JunctionGraph. Builds the graph from the current
+     * state of the maze.
+     *
+     * @param maze The maze to build the graph from
+     */
+    public JunctionGraph(Maze maze) {
+        this.maze = maze;
+        width = maze.getWidth();
+        offsets = new int[]{-width, 1, width, -1};
+
+        IntList nodes = new IntList();
+        int cells = width * maze.getDepth();
+        for (int cell = 0; cell < cells; cell++) {
+            if (maze.isPassageAt(cell)) {
+                passages++;
+                if (degree(cell) != 2) {
+                    nodes.add(cell);
+                }
+            }
+        }
+        nodeCell = nodes.toArray();
+
+        edgeStart = new int[nodeCell.length + 1];
+        IntList targets = new IntList();
+        IntList weights = new IntList();
+        IntList steps = new IntList();
+        for (int node = 0; node < nodeCell.length; node++) {
+            edgeStart[node] = targets.size();
+            for (int step = 0; step < 4; step++) {
+                if (maze.isPassageAt(nodeCell[node] + offsets[step])) {
+                    long walked = walk(nodeCell[node], step, -1, null);
+                    targets.add(nodeOf(end(walked)));
+                    weights.add(length(walked));
+                    steps.add(step);
+                }
+            }
+        }
+        edgeStart[nodeCell.length] = targets.size();
+        edgeTarget = targets.toArray();
+        edgeWeight = weights.toArray();
+        edgeStep = new byte[edgeTarget.length];
+        for (int edge = 0; edge < edgeStep.length; edge++) {
+            edgeStep[edge] = (byte) steps.get(edge);
+        }
+    }
+
+    /**
+     * Get the number of junctions and dead ends in the graph.
+     *
+     * @return the number of nodes
+     */
+    public int getNodeCount() {
+        return nodeCell.length;
+    }
+
+    /**
+     * Get the number of corridors in the graph, each counted once.
+     *
+     * @return the number of edges
+     */
+    public int getEdgeCount() {
+        return edgeTarget.length / 2;
+    }
+
+    /**
+     * Get the number of passage cells in the maze the graph was built from.
+     *
+     * @return the number of passages
+     */
+    public long getPassageCount() {
+        return passages;
+    }
+
+    /**
+     * Start a search over the graph. The graph itself is never changed by a
+     * search, so any number of searches can run on it at once.
+     *
+     * @return a new search
+     */
+    public Search newSearch() {
+        return new Search();
+    }
+
+    /**
+     * A search for shortest routes over the graph, holding the working state
+     * and statistics of one caller. A search may be reused for many queries.
+     * A node's distance counts only if the node is stamped with the number of
+     * the query that reached it, so the distances are never cleared.
+     */
+    public class Search {
+
+        private final int[] stamp = new int[nodeCell.length];
+        private final int[] distance = new int[nodeCell.length];
+        private final int[] parentEdge = new int[nodeCell.length];
+        private final int[] parentNode = new int[nodeCell.length];
+        private final IntMinHeap open = new IntMinHeap(64);
+        private int query;
+        private long nodesExpanded;
+
+        /**
+         * Get the number of nodes the last query expanded.
+         *
+         * @return the number of nodes expanded
+         */
+        public long getNodesExpanded() {
+            return nodesExpanded;
+        }
+
+        /**
+         * Find a shortest route between two passage cells. The start and goal are
+         * tied into the graph through the nodes at either end of their corridors,
+         * a Dijkstra search is run over the nodes, and the route is walked back
+         * out into cells.
+         *
+         * @param start The packed index of the cell to start from
+         * @param goal The packed index of the cell to reach
+         * @return the cells of the route from start to goal inclusive, or null if
+         * the goal cannot be reached
+         */
+        public int[] findPath(int start, int goal) {
+            nodesExpanded = 0;
+            if (start == goal) {
+                return new int[]{start};
+            }
+            if (++query == 0) {
+                Arrays.fill(stamp, 0);
+                query = 1;
+            }
+            open.clear();
+
+            // Tie the start in: the direction taken from the start to reach each
+            // source node is kept, encoded as -1 - step, in place of an edge.
+            int best = Integer.MAX_VALUE;
+            int bestStep = -1;
+            int startNode = nodeOf(start);
+            if (startNode >= 0) {
+                reach(startNode, 0);
+                parentEdge[startNode] = -1;
+                parentNode[startNode] = -1;
+                open.push(0, startNode);
+            } else {
+                for (int step = 0; step < 4; step++) {
+                    if (maze.isPassageAt(start + offsets[step])) {
+                        long walked = walk(start, step, goal, null);
+                        if (end(walked) == goal) {
+                            if (length(walked) < best) {
+                                best = length(walked);
+                                bestStep = step;
+                            }
+                            continue;
+                        }
+                        int node = nodeOf(end(walked));
+                        if (node >= 0 && length(walked) < distanceOf(node)) {
+                            reach(node, length(walked));
+                            parentEdge[node] = -1 - step;
+                            parentNode[node] = -1;
+                            open.push(length(walked), node);
+                        }
+                    }
+                }
+            }
+
+            // Tie the goal in: the nodes at the ends of its corridor and how far
+            // each is from it.
+            int[] goalNodes;
+            int[] goalDistances;
+            int[] goalSteps;
+            int goalNode = nodeOf(goal);
+            if (goalNode >= 0) {
+                goalNodes = new int[]{goalNode};
+                goalDistances = new int[]{0};
+                goalSteps = new int[]{-1};
+            } else {
+                goalNodes = new int[]{-1, -1};
+                goalDistances = new int[2];
+                goalSteps = new int[2];
+                int end = 0;
+                for (int step = 0; step < 4 && end < 2; step++) {
+                    if (maze.isPassageAt(goal + offsets[step])) {
+                        long walked = walk(goal, step, -1, null);
+                        goalNodes[end] = nodeOf(end(walked));
+                        goalDistances[end] = length(walked);
+                        goalSteps[end++] = step;
+                    }
+                }
+            }
+
+            int bestNode = -1;
+            int bestGoalStep = -1;
+            while (!open.isEmpty() && open.peekKey() < best) {
+                int key = open.peekKey();
+                int node = open.pop();
+                if (key > distanceOf(node)) {
+                    continue;
+                }
+                nodesExpanded++;
+                for (int i = 0; i < goalNodes.length; i++) {
+                    if (goalNodes[i] == node && key + goalDistances[i] < best) {
+                        best = key + goalDistances[i];
+                        bestNode = node;
+                        bestGoalStep = goalSteps[i];
+                    }
+                }
+                for (int edge = edgeStart[node]; edge < edgeStart[node + 1]; edge++) {
+                    int target = edgeTarget[edge];
+                    int reached = key + edgeWeight[edge];
+                    if (reached < distanceOf(target)) {
+                        reach(target, reached);
+                        parentEdge[target] = edge;
+                        parentNode[target] = node;
+                        open.push(reached, target);
+                    }
+                }
+            }
+
+            if (best == Integer.MAX_VALUE) {
+                return null;
+            }
+            IntList path = new IntList();
+            path.add(start);
+            if (bestNode < 0) {
+                walk(start, bestStep, goal, path);
+                return path.toArray();
+            }
+            expand(bestNode, start, path);
+            if (bestGoalStep >= 0) {
+                IntList tail = new IntList();
+                walk(goal, bestGoalStep, -1, tail);
+                // The tail runs from the goal to the node; add it back to front,
+                // skipping the node itself, and finish on the goal.
+                for (int i = tail.size() - 2; i >= 0; i--) {
+                    path.add(tail.get(i));
+                }
+                path.add(goal);
+            }
+            return path.toArray();
+        }
+
+        /**
+         * Get the distance of a node found by this query so far.
+         */
+        private int distanceOf(int node) {
+            return stamp[node] == query ? distance[node] : Integer.MAX_VALUE;
+        }
+
+        private void reach(int node, int moves) {
+            stamp[node] = query;
+            distance[node] = moves;
+        }
+
+        /**
+         * Append to the path the cells from the start up to a node, following the
+         * chain of edges that reached it.
+         */
+        private void expand(int node, int start, IntList path) {
+            IntList chain = new IntList();
+            for (int n = node; n >= 0; n = parentNode[n]) {
+                chain.add(n);
+            }
+            int first = chain.get(chain.size() - 1);
+            if (nodeCell[first] != start) {
+                walk(start, -1 - parentEdge[first], -1, path);
+            }
+            for (int i = chain.size() - 2; i >= 0; i--) {
+                int n = chain.get(i);
+                walk(nodeCell[parentNode[n]], edgeStep[parentEdge[n]], -1, path);
+            }
+        }
+    }
+
+    /**
+     * Walk along a corridor from a cell, taking a first step in a given
+     * direction and then carrying on through cells with exactly two passage
+     * neighbours until reaching a node or the stop cell.
+     *
+     * @param from The packed index of the cell to walk from
+     * @param step The direction of the first step, indexing offsets
+     * @param stop A cell to stop at even if it is not a node, or -1
+     * @param cells If not null, receives every cell after from up to and
+     * including the cell reached
+     * @return the cell reached and the number of moves taken, packed together
+     * to be unpacked with end and length
+     */
+    private long walk(int from, int step, int stop, IntList cells) {
+        int previous = from;
+        int cell = from + offsets[step];
+        int length = 1;
+        while (cell != stop && cell != from && degree(cell) == 2) {
+            if (cells != null) {
+                cells.add(cell);
+            }
+            int next = -1;
+            for (int offset : offsets) {
+                int neighbour = cell + offset;
+                if (neighbour != previous && maze.isPassageAt(neighbour)) {
+                    next = neighbour;
+                    break;
+                }
+            }
+            previous = cell;
+            cell = next;
+            length++;
+        }
+        if (cells != null) {
+            cells.add(cell);
+        }
+        return (long) length << 32 | cell & 0xFFFFFFFFL;
+    }
+
+    private static int end(long walked) {
+        return (int) walked;
+    }
+
+    private static int length(long walked) {
+        return (int) (walked >>> 32);
+    }
+
+    private int degree(int cell) {
+        int degree = 0;
+        for (int offset : offsets) {
+            if (maze.isPassageAt(cell + offset)) {
+                degree++;
+            }
+        }
+        return degree;
+    }
+
+    private int nodeOf(int cell) {
+        int node = Arrays.binarySearch(nodeCell, cell);
+        return node < 0 ? -1 : node;
+    }
+}
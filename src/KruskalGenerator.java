@@ -0,0 +1,110 @@
+import java.util.random.RandomGenerator;
+
+/**
+ * Generates maze coordinates using randomised Kruskal's algorithm.
+ *
+ * Every wall between two cells is taken in a random order, and knocked down
+ * if the cells either side are not yet joined. Which cells are joined is kept
+ * in a union-find forest over a single int array: a cell holds the index of
+ * its parent, or the negated size of its set if it is a root. Sets are joined
+ * smaller under larger, and finding a root halves the path to it as it goes,
+ * so every operation is close to constant time.
+ *
+ * @author Michael Quested
+ * @version 1.1
+ * @date 2026/10/18
+ */
+public class KruskalGenerator implements Generator {
+
+    private int[] parent = new int[0];
+    private int[] walls = new int[0];
+
+    /**
+     * Open every cell, then knock down walls in a random order until every
+     * cell is joined.
+     */
+    @Override
+    public void generate(Maze maze, RandomGenerator random) {
+        int columns = maze.getWidth() / 2;
+        int rows = maze.getDepth() / 2;
+        int cells = columns * rows;
+        if (parent.length < cells) {
+            parent = new int[cells];
+            walls = new int[2 * cells];
+        }
+        for (int y = 1; y < maze.getDepth() - 1; y += 2) {
+            for (int x = 1; x < maze.getWidth() - 1; x += 2) {
+                maze.setPassage(x, y, true);
+            }
+        }
+
+        // Each wall is the index of the cell to its west or north, times two,
+        // plus one if it is the cell's south wall rather than its east wall.
+        int count = 0;
+        for (int cell = 0; cell < cells; cell++) {
+            parent[cell] = -1;
+            if (cell % columns < columns - 1) {
+                walls[count++] = cell << 1;
+            }
+            if (cell / columns < rows - 1) {
+                walls[count++] = cell << 1 | 1;
+            }
+        }
+
+        int joins = cells - 1;
+        for (int i = 0; i < count && joins > 0; i++) {
+            int pick = i + random.nextInt(count - i);
+            int wall = walls[pick];
+            walls[pick] = walls[i];
+            int cell = wall >>> 1;
+            int other = (wall & 1) == 0 ? cell + 1 : cell + columns;
+            if (union(cell, other)) {
+                int x = 2 * (cell % columns) + 1;
+                int y = 2 * (cell / columns) + 1;
+                if ((wall & 1) == 0) {
+                    maze.setPassage(x + 1, y, true);
+                } else {
+                    maze.setPassage(x, y + 1, true);
+                }
+                joins--;
+            }
+        }
+        maze.countVisited(cells);
+    }
+
+    /**
+     * Find the root of the set holding a cell, pointing every other cell on
+     * the way at its grandparent.
+     */
+    private int find(int cell) {
+        while (parent[cell] >= 0) {
+            int up = parent[cell];
+            if (parent[up] >= 0) {
+                parent[cell] = parent[up];
+            }
+            cell = up;
+        }
+        return cell;
+    }
+
+    /**
+     * Join the sets holding two cells.
+     *
+     * @return true if they were apart, false if already joined
+     */
+    private boolean union(int a, int b) {
+        a = find(a);
+        b = find(b);
+        if (a == b) {
+            return false;
+        }
+        if (parent[a] > parent[b]) {
+            int swap = a;
+            a = b;
+            b = swap;
+        }
+        parent[a] += parent[b];
+        parent[b] = a;
+        return true;
+    }
+}
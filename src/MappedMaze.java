@@ -0,0 +1,145 @@
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * A maze whose cells are read straight from a memory-mapped maze file rather
+ * than copied onto the heap. The maze is read-only: it cannot be regenerated,
+ * and a reset only clears the cheese and the mouse. Open one with
+ * {@link MazeFile#open}.
+ *
+ * A single mapping cannot exceed 2 GB, so the cells are mapped in segments of
+ * 1 GB each.
+ *
+ * @author Michael Quested
+ * @version 1.1
+ * @date 2026/10/18
+ */
+public class MappedMaze extends Maze {
+
+    private final static int SEGMENT_BITS = 30;
+    private final static long SEGMENT_MASK = (1L << SEGMENT_BITS) - 1;
+    private final MappedByteBuffer[] segments;
+    private final String generator;
+
+    /**
+     * Constructor for class MappedMaze. Maps the cells; the channel may be
+     * closed afterwards.
+     *
+     * @param channel The open maze file
+     * @param offset The position of the first cell in the file
+     * @param width The grid width of the maze
+     * @param depth The grid depth of the maze
+     * @param seed The seed the maze was generated from
+     * @param generator The name of the generator that made the maze
+     */
+    MappedMaze(FileChannel channel, long offset, int width, int depth, long seed, String generator)
+            throws IOException {
+        super(null, width, depth);
+        this.seed = seed;
+        this.generator = generator;
+        long size = (((long) width * depth + 63) >>> 6) * 8;
+        segments = new MappedByteBuffer[(int) ((size + SEGMENT_MASK) >>> SEGMENT_BITS)];
+        for (int i = 0; i < segments.length; i++) {
+            long start = (long) i << SEGMENT_BITS;
+            long length = Math.min(size - start, 1L << SEGMENT_BITS);
+            segments[i] = channel.map(FileChannel.MapMode.READ_ONLY, offset + start, length);
+            segments[i].order(ByteOrder.LITTLE_ENDIAN);
+        }
+    }
+
+    /**
+     * The maze is already built, so there is nothing to set up.
+     */
+    @Override
+    public void setup() {
+    }
+
+    /**
+     * Reset the maze, clearing the cheese and the mouse. The cells are kept.
+     */
+    @Override
+    public void reset() {
+        clearForReset();
+    }
+
+    /**
+     * A mapped maze cannot be regenerated, so it cannot be reset to another
+     * seed; reset() clears it instead.
+     *
+     * @throws UnsupportedOperationException always
+     */
+    @Override
+    public void reset(long seed) {
+        throw new UnsupportedOperationException("A mapped maze is read-only and cannot be regenerated from seed " + seed);
+    }
+
+    @Override
+    public boolean isPassage(int x, int y) {
+        return isPassageAt((long) y * width + x);
+    }
+
+    @Override
+    public boolean isPassageAt(int cell) {
+        return isPassageAt((long) cell);
+    }
+
+    /**
+     * Read the cells from the one or two words of the file they lie in.
+     */
+    @Override
+    public long getPassageBits(int x, int y) {
+        long first = (long) y * width + x;
+        long word = first >>> 6;
+        int shift = (int) (first & 63);
+        long bits = getWord(word) >>> shift;
+        if (shift != 0 && (word + 1) << 6 < (long) width * depth) {
+            bits |= getWord(word + 1) << (64 - shift);
+        }
+        int count = width - x;
+        return count < 64 ? bits & ((1L << count) - 1) : bits;
+    }
+
+    /**
+     * The file is mapped read-only, so its cells cannot be changed.
+     */
+    @Override
+    protected void setPassage(int x, int y, boolean passage) {
+        throw new UnsupportedOperationException("A mapped maze is read-only");
+    }
+
+    /**
+     * The file is mapped read-only, so its cells cannot be changed.
+     */
+    @Override
+    protected void clearPassages() {
+        throw new UnsupportedOperationException("A mapped maze is read-only");
+    }
+
+    /**
+     * Get the name of the generator that made the maze, as recorded in its
+     * file.
+     *
+     * @return the name of the generator
+     */
+    @Override
+    public String getGeneratorName() {
+        return generator;
+    }
+
+    /**
+     * Get a word of 64 cells. A segment holds a whole number of words, so a
+     * word never spans two.
+     */
+    private long getWord(long word) {
+        long position = word << 3;
+        return segments[(int) (position >>> SEGMENT_BITS)].getLong((int) (position & SEGMENT_MASK));
+    }
+
+    private boolean isPassageAt(long cell) {
+        long position = cell >>> 3;
+        byte cells = segments[(int) (position >>> SEGMENT_BITS)].get((int) (position & SEGMENT_MASK));
+        return (cells & (1 << (cell & 7))) != 0;
+    }
+}
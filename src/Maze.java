@@ -1,27 +1,113 @@
 
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.CopyOnWriteArrayList;
+
 /**
  * A class for generating and maintaining the coordinates for a 2-D grid-based
- * maze.
+ * maze. The passages are carved by a {@link Generator}, which can be swapped
+ * between resets; a subclass may instead carve them itself in setup().
+ *
+ * A maze has no display of its own. Generating it, placing the cheese and
+ * running a mouse all work headless and at full speed. A view can attach
+ * itself as a {@link MazeListener} to follow along, or, as {@link MazeGUI}
+ * does, {@link #trace} the mouse's run and play it back afterwards.
+ *
+ * Once generated, walls can still be opened and closed with
+ * {@link #openWall} and {@link #closeWall}, even while mice are running, and
+ * each change is sent to the maze's {@link WallListener}s.
+ *
+ * Every maze has a fingerprint of its walls, kept up to date as each cell is
+ * carved or changed rather than worked out from the whole grid: a random
+ * 64-bit key of each passage cell, and of the size of the grid, xor'd
+ * together. Two mazes with the same walls have the same fingerprint, and a
+ * maze reset to new walls gets a new one, so it can key anything worked out
+ * from the walls, such as the routes in a {@link PathCache}.
  *
  * @author Michael Quested
  * @version 1.0
  * @date 2012/12/16
  */
-public abstract class Maze {
+public class Maze {
 
-    protected boolean[][] coordinates, visited;
-    protected int width, depth, cheesePosX, cheesePosY;
+    private BitGrid coordinates, visited, cheeseCells;
+    private final IntList cheeses = new IntList();
+    protected final int width, depth;
+    protected int cheesePosX, cheesePosY;
     protected Mouse mouse;
-    protected boolean mouseIsSet, cheeseIsSet, reset;
-    protected MazeGUI gui;
+    protected boolean mouseIsSet, cheeseIsSet;
+    protected volatile boolean reset;
+    private boolean precomputeDistances;
+    private volatile DistanceField distanceField;
+    private volatile JunctionGraph junctionGraph;
+    private volatile TileGraph tileGraph;
+    private final List<MazeListener> listeners = new CopyOnWriteArrayList<>();
+    private final List<WallListener> wallListeners = new CopyOnWriteArrayList<>();
+    private final Object wallLock = new Object();
+    private long cellsVisited;
+    protected long seed;
+    protected SplittableRandom random;
+    private SplittableRandom mouseSeeds;
+    private Generator generator;
+    private final Object backLock = new Object();
+    private Maze backMaze;
+    private Generator backGenerator;
+    private long backSeed;
+    private boolean backReady;
+    private long fingerprint;
+    private boolean keepVisited;
+    private boolean fingerprinted;
+    private PathCache pathCache;
+
+    /**
+     * Constructor for class Maze, for a subclass that generates the maze by
+     * overriding setup(). The maze is generated from a seed picked at random,
+     * which can be read back with getSeed().
+     *
+     * @param width The grid width of the maze
+     * @param depth The grid depth of the maze
+     */
+    protected Maze(int width, int depth) {
+        this(width, depth, new SplittableRandom().nextLong());
+    }
+
+    /**
+     * Constructor for class Maze, for a subclass that generates the maze by
+     * overriding setup().
+     *
+     * @param width The grid width of the maze
+     * @param depth The grid depth of the maze
+     * @param seed The seed to generate the maze from
+     */
+    protected Maze(int width, int depth, long seed) {
+        this(width, depth, seed, null);
+    }
+
+    /**
+     * Constructor for class Maze. The maze is generated from a seed picked at
+     * random, which can be read back with getSeed().
+     *
+     * @param width The grid width of the maze
+     * @param depth The grid depth of the maze
+     * @param generator The generator to carve the maze with
+     */
+    public Maze(int width, int depth, Generator generator) {
+        this(width, depth, new SplittableRandom().nextLong(), generator);
+    }
 
     /**
-     * Constructor for class Maze.
+     * Constructor for class Maze. The same seed, dimensions and generator
+     * always give the same maze, so the four together are all that needs to
+     * be kept to have the maze again.
      *
      * @param width The grid width of the maze
      * @param depth The grid depth of the maze
+     * @param seed The seed to generate the maze from
+     * @param generator The generator to carve the maze with
      */
-    public Maze(int width, int depth) {
+    public Maze(int width, int depth, long seed, Generator generator) {
+        this.seed = seed;
+        this.generator = generator;
         if (width % 2 == 0) {
             this.width = width + 1;
         } else {
@@ -32,22 +118,263 @@ public abstract class Maze {
         } else {
             this.depth = depth;
         }
-        coordinates = new boolean[this.width][this.depth];
-        visited = new boolean[this.width][this.depth];
+        coordinates = new BitGrid(this.width, this.depth);
+        fingerprint = emptyFingerprint();
+        fingerprinted = true;
+        generate();
+    }
+
+    /**
+     * Constructor for class Maze, for a maze that is not generated here but
+     * over cells that already exist. setup() is not called. Given a grid, the
+     * maze reads and carves it; given none, the maze keeps its cells
+     * somewhere other than the heap, and the subclass must override
+     * isPassage, isPassageAt and getPassageBits to read them. Its walls
+     * cannot then be changed or carved.
+     *
+     * @param cells The grid of the maze, width by depth, or null for none
+     * @param width The grid width of the maze, odd and at least 3
+     * @param depth The grid depth of the maze, odd and at least 3
+     * @throws IllegalArgumentException if a size is even or less than 3, or
+     * the grid is another size
+     */
+    protected Maze(BitGrid cells, int width, int depth) {
+        if (width < 3 || depth < 3 || width % 2 == 0 || depth % 2 == 0) {
+            throw new IllegalArgumentException("A maze must be odd and at least 3 each way, not " + width + " by " + depth);
+        }
+        if (cells != null && (cells.getWidth() != width || cells.getDepth() != depth)) {
+            throw new IllegalArgumentException("The grid is not " + width + " by " + depth);
+        }
+        this.width = width;
+        this.depth = depth;
+        coordinates = cells;
+        if (cells != null) {
+            fingerprint = emptyFingerprint();
+            fingerprinted = true;
+        }
+    }
+
+    /**
+     * Setup the maze, carving it with the maze's generator.
+     */
+    public void setup() {
+        if (generator == null) {
+            throw new IllegalStateException("No generator for " + getClass().getSimpleName());
+        }
+        generator.generate(this, random);
+    }
+
+    /**
+     * Get the generator that carves the maze.
+     *
+     * @return the generator, or null if a subclass carves the maze itself
+     */
+    public Generator getGenerator() {
+        return generator;
+    }
+
+    /**
+     * Change the generator that carves the maze. The maze itself is left as
+     * it is until it is next reset.
+     *
+     * @param generator The generator to carve the maze with from now on
+     */
+    public void setGenerator(Generator generator) {
+        this.generator = generator;
+    }
+
+    /**
+     * Get the name of the algorithm that generates the maze.
+     *
+     * @return the simple class name of the generator, or of the maze if it
+     * carves itself
+     */
+    public String getGeneratorName() {
+        return (generator == null ? this : generator).getClass().getSimpleName();
+    }
+
+    /**
+     * Reset the maze, clearing it and generating a new one in its place. The
+     * new seed is drawn from the old one, so a maze and every maze reset from
+     * it can all be had again from the first seed.
+     */
+    public void reset() {
+        reset(new SplittableRandom(seed).nextLong());
+    }
+
+    /**
+     * Reset the maze, clearing it and generating a new one from the given
+     * seed in its place. If that maze has already been generated into the
+     * back buffer by prepareReset(), it is swapped in instead, without
+     * generating or allocating anything; if it is being generated there right
+     * now, the reset waits for it to finish.
+     *
+     * @param seed The seed to generate the new maze from
+     */
+    public void reset(long seed) {
+        ResetEvent event = new ResetEvent();
+        event.begin();
+        long start = Metric.start();
+        synchronized (backLock) {
+            synchronized (wallLock) {
+                if (backReady && backSeed == seed && backGenerator == generator) {
+                    BitGrid front = coordinates;
+                    coordinates = backMaze.coordinates;
+                    backMaze.coordinates = front;
+                    fingerprint = backMaze.fingerprint;
+                    backReady = false;
+                    clearForReset();
+                    setSeed(seed);
+                } else {
+                    backReady = false;
+                    this.seed = seed;
+                    clearForReset();
+                    clearPassages();
+                    generate();
+                }
+            }
+        }
+        Metric.RESET.recordSince(start);
+        if (event.shouldCommit()) {
+            event.generator = getGeneratorName();
+            event.width = width;
+            event.depth = depth;
+            event.commit();
+        }
+    }
+
+    /**
+     * Generate the maze that reset() would bring in next into a back buffer,
+     * while the current maze stays in use. Meant to be run on a background
+     * thread straight after a reset, so that the following reset only has to
+     * swap the buffers. Once both buffers exist, preparing and resetting reuse
+     * them, clearing them in bulk, and allocate nothing more.
+     *
+     * The back buffer is carved by the generator into a maze of its own,
+     * with its own source of randomness and visited set, and nothing this
+     * maze is using is touched until reset() swaps the buffer in. Only a maze
+     * carved by a {@link Generator} into a grid of its own can be prepared in
+     * the background.
+     *
+     * @return true if the next maze is ready, false if this maze cannot
+     * prepare one
+     */
+    public boolean prepareReset() {
+        return prepareReset(new SplittableRandom(seed).nextLong());
+    }
+
+    /**
+     * Generate the maze that reset(seed) would bring in into a back buffer,
+     * while the current maze stays in use.
+     *
+     * @param seed The seed to generate the next maze from
+     * @return true if the next maze is ready, false if this maze cannot
+     * prepare one
+     */
+    public boolean prepareReset(long seed) {
+        if (coordinates == null || generator == null) {
+            return false;
+        }
+        synchronized (backLock) {
+            Generator using = generator;
+            if (backReady && backSeed == seed && backGenerator == using) {
+                return true;
+            }
+            backReady = false;
+            keepVisited = true;
+            if (backMaze == null) {
+                backMaze = new Maze(new BitGrid(width, depth), width, depth);
+                backMaze.keepVisited = true;
+            } else {
+                backMaze.coordinates.clear();
+            }
+            backMaze.fingerprint = emptyFingerprint();
+            backMaze.generator = using;
+            backMaze.setSeed(seed);
+            backMaze.carve();
+            backSeed = seed;
+            backGenerator = using;
+            backReady = true;
+            return true;
+        }
+    }
+
+    /**
+     * Seed the maze and run setup() to generate it.
+     */
+    private void generate() {
+        setSeed(seed);
+        carve();
+    }
+
+    /**
+     * Run setup() to carve the maze, recording how long it took and how many
+     * cells the generator visited.
+     */
+    private void carve() {
+        GenerationEvent event = new GenerationEvent();
+        event.begin();
+        long start = Metric.start();
+        cellsVisited = 0;
         setup();
-        gui = new MazeGUI(this);
-        gui.renderMaze();
+        Metric.GENERATION.recordSince(start);
+        Metric.CELLS_VISITED.record(cellsVisited);
+        if (event.shouldCommit()) {
+            event.generator = getGeneratorName();
+            event.width = width;
+            event.depth = depth;
+            event.cellsVisited = cellsVisited;
+            event.commit();
+        }
     }
 
     /**
-     * Setup the maze.
+     * Get the seed the maze was generated from.
+     *
+     * @return the seed of the maze
      */
-    public abstract void setup();
+    public long getSeed() {
+        return seed;
+    }
 
     /**
-     * Reset the maze.
+     * Seed the source of randomness that setup() draws on, and that mice
+     * placed in the maze are seeded from. Generating calls this before
+     * setup(); it only needs calling directly to run setup() by hand.
+     *
+     * @param seed The seed to use
      */
-    public abstract void reset();
+    public void setSeed(long seed) {
+        this.seed = seed;
+        random = new SplittableRandom(seed);
+        synchronized (this) {
+            mouseSeeds = new SplittableRandom(seed).split();
+        }
+    }
+
+    /**
+     * Get a new source of randomness for a mouse, split off from the seed of
+     * the maze. The mice placed in a maze are always seeded in the same order,
+     * so their behaviour can be repeated.
+     *
+     * @return a source of randomness for one mouse
+     */
+    public synchronized SplittableRandom newMouseRandom() {
+        if (mouseSeeds == null) {
+            mouseSeeds = new SplittableRandom(seed).split();
+        }
+        return mouseSeeds.split();
+    }
+
+    /**
+     * Count cells visited by the generator, for the generation metrics.
+     * Generators should add up their visits and report them in bulk.
+     *
+     * @param cells The number of cells visited
+     */
+    protected void countVisited(long cells) {
+        cellsVisited += cells;
+    }
 
     /**
      * @return the state of reset
@@ -64,52 +391,319 @@ public abstract class Maze {
     }
 
     /**
-     * Place the cheese into the maze at the specified coordinates.
+     * Mark the maze as reset, clearing the cheese, the mouse and anything
+     * worked out from the old maze. Called by reset() before regenerating.
+     */
+    protected void clearForReset() {
+        reset = true;
+        clearCheeses();
+        mouseIsSet = false;
+        distanceField = null;
+        junctionGraph = null;
+        tileGraph = null;
+    }
+
+    /**
+     * Place the cheese into the maze at the specified coordinates, taking
+     * away any other pieces of cheese.
      *
      * @param x The grid position x of the cheese
      * @param y The grid position y of the cheese
      */
     public void setCheese(int x, int y) {
-        cheeseIsSet = true;
-        cheesePosX = x;
-        cheesePosY = y;
-        //gui.setCheese(x, y);
+        clearCheeses();
+        addCheese(x, y);
+    }
+
+    /**
+     * Place another piece of cheese into the maze at the specified
+     * coordinates. The first piece placed is the one getCheeseX() and
+     * getCheeseY() give; mice that plan a route to a single goal head for it,
+     * while the distance field measures the way to whichever piece is
+     * nearest.
+     *
+     * @param x The grid position x of the cheese
+     * @param y The grid position y of the cheese
+     */
+    public void addCheese(int x, int y) {
+        reset = false;
+        if (isCheese(x, y)) {
+            return;
+        }
+        if (!cheeseIsSet) {
+            cheesePosX = x;
+            cheesePosY = y;
+            cheeseIsSet = true;
+        } else {
+            if (cheeseCells == null) {
+                cheeseCells = new BitGrid(width, depth);
+            }
+            if (cheeses.size() == 1) {
+                cheeseCells.set(cheesePosX, cheesePosY, true);
+            }
+            cheeseCells.set(x, y, true);
+        }
+        cheeses.add(y * width + x);
+        distanceField = precomputeDistances ? new DistanceField(this, getCheeses()) : null;
+    }
+
+    /**
+     * Take every piece of cheese out of the maze.
+     */
+    private void clearCheeses() {
+        if (cheeses.size() > 1) {
+            for (int i = 0; i < cheeses.size(); i++) {
+                int cell = cheeses.get(i);
+                cheeseCells.set(cell % width, cell / width, false);
+            }
+        }
+        cheeses.clear();
+        cheeseIsSet = false;
+        distanceField = null;
+    }
+
+    /**
+     * Get every piece of cheese in the maze, in the order they were placed.
+     *
+     * @return the packed index y * width + x of each piece of cheese
+     */
+    public int[] getCheeses() {
+        return cheeses.toArray();
     }
 
     /**
-     * Put the mouse down into the maze at the specified coordinates.
+     * Get the number of pieces of cheese in the maze.
+     *
+     * @return the number of pieces of cheese
+     */
+    public int getCheeseCount() {
+        return cheeses.size();
+    }
+
+    /**
+     * Choose whether the distance field to the cheese is built as soon as the
+     * cheese is set, rather than when a mouse first asks for it.
+     *
+     * @param precompute true to build the field when the cheese is set
+     */
+    public void setPrecomputeDistances(boolean precompute) {
+        precomputeDistances = precompute;
+    }
+
+    /**
+     * Get the distance of every cell from the nearest piece of cheese,
+     * building it with one search from every piece at once if it has not
+     * been built since the cheese was last placed.
+     *
+     * @return the distance field to the cheese
+     * @throws IllegalStateException if no cheese has been placed
+     */
+    public DistanceField getDistanceField() {
+        DistanceField field = distanceField;
+        if (field == null) {
+            synchronized (this) {
+                field = distanceField;
+                if (field == null) {
+                    if (!cheeseIsSet) {
+                        throw new IllegalStateException("No cheese has been placed in the maze to measure distances to");
+                    }
+                    field = new DistanceField(this, getCheeses());
+                    distanceField = field;
+                }
+            }
+        }
+        return field;
+    }
+
+    /**
+     * Put the mouse down into the maze at the specified coordinates, without
+     * setting it off.
      *
      * @param x The grid position x of the mouse
      * @param y The grid position y of the mouse
+     * @return the mouse that was placed
      */
-    public void setMouse(int x, int y) throws InterruptedException {
+    public Mouse placeMouse(int x, int y) {
+        return placeMouse(new WallFollower(this, newMouseRandom()), x, y);
+    }
+
+    /**
+     * Put a given mouse down into the maze at the specified coordinates,
+     * without setting it off.
+     *
+     * @param mouse The mouse to put down
+     * @param x The grid position x of the mouse
+     * @param y The grid position y of the mouse
+     * @return the mouse that was placed
+     */
+    public Mouse placeMouse(Mouse mouse, int x, int y) {
         mouseIsSet = true;
-        mouse = new WallFollower(this);
-        mouse.currentPosX = x;
-        mouse.currentPosY = y;
+        this.mouse = mouse;
+        mouse.setPosition(x, y);
+        return mouse;
+    }
+
+    /**
+     * Put the mouse down into the maze at the specified coordinates, and let
+     * it search for the cheese.
+     *
+     * @param x The grid position x of the mouse
+     * @param y The grid position y of the mouse
+     */
+    public void setMouse(int x, int y) throws InterruptedException {
+        placeMouse(x, y);
         if (!cheeseIsFound()) {
             mouse.go();
         }
     }
 
+    /**
+     * Put the mouse down into the maze at the specified coordinates and run it
+     * until it finds the cheese, recording the path it takes.
+     *
+     * @param x The grid position x of the mouse
+     * @param y The grid position y of the mouse
+     * @return the mouse, holding its step count and path
+     */
+    public Mouse solve(int x, int y) throws InterruptedException {
+        placeMouse(x, y);
+        mouse.setRecordPath(true);
+        mouse.go();
+        return mouse;
+    }
+
+    /**
+     * Put the mouse down into the maze at the specified coordinates and run it
+     * at full speed without notifying the listeners, recording every cell it
+     * passes through so that the run can be played back afterwards.
+     *
+     * @param x The grid position x of the mouse
+     * @param y The grid position y of the mouse
+     * @return the mouse, whose path is the trace of the run
+     */
+    public Mouse trace(int x, int y) {
+        return trace(new WallFollower(this, newMouseRandom()), x, y);
+    }
+
+    /**
+     * Put a given mouse down into the maze at the specified coordinates and
+     * run it at full speed without notifying the listeners, recording every
+     * cell it passes through.
+     *
+     * @param mouse The mouse to run
+     * @param x The grid position x of the mouse
+     * @param y The grid position y of the mouse
+     * @return the mouse, whose path is the trace of the run
+     */
+    public Mouse trace(Mouse mouse, int x, int y) {
+        placeMouse(mouse, x, y);
+        mouse.setRecordPath(true);
+        mouse.run();
+        return mouse;
+    }
+
+    /**
+     * Get the graph of the junctions and corridors of the maze, building it
+     * if it has not been built since the maze was generated.
+     *
+     * @return the junction graph of the maze
+     */
+    public JunctionGraph getJunctionGraph() {
+        JunctionGraph graph = junctionGraph;
+        if (graph == null) {
+            synchronized (this) {
+                graph = junctionGraph;
+                if (graph == null) {
+                    graph = new JunctionGraph(this);
+                    junctionGraph = graph;
+                }
+            }
+        }
+        return graph;
+    }
+
+    /**
+     * Get the tile graph of the maze for hierarchical path-finding, building
+     * it across the cores if it has not been built since the maze was
+     * generated. Once built it is kept up to date as walls change, one tile
+     * at a time.
+     *
+     * @return the tile graph of the maze
+     */
+    public TileGraph getTileGraph() {
+        TileGraph graph = tileGraph;
+        if (graph == null) {
+            synchronized (this) {
+                graph = tileGraph;
+                if (graph == null) {
+                    graph = new TileGraph(this);
+                    tileGraph = graph;
+                }
+            }
+        }
+        return graph;
+    }
+
+    /**
+     * Attach a listener to follow the mouse through the maze.
+     *
+     * @param listener The listener to attach
+     */
+    public void addListener(MazeListener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Detach a listener from the maze.
+     *
+     * @param listener The listener to detach
+     */
+    public void removeListener(MazeListener listener) {
+        listeners.remove(listener);
+    }
+
     /**
      * Check if the cheese has been found.
      *
      * @return true if the cheese has been found, false if not
      */
     public boolean cheeseIsFound() {
-        return cheesePosX == mouse.currentPosX && cheesePosY == mouse.currentPosY;
+        return isCheese(mouse.currentPosX, mouse.currentPosY);
+    }
+
+    /**
+     * Check if a piece of cheese is at a specified set of coordinates. Any
+     * number of mice may ask at once.
+     *
+     * @param x The grid position x to check
+     * @param y The grid position y to check
+     * @return true if a piece of cheese is there, false if not
+     */
+    public boolean isCheese(int x, int y) {
+        if (!cheeseIsSet) {
+            return false;
+        }
+        if (cheeses.size() == 1) {
+            return cheesePosX == x && cheesePosY == y;
+        }
+        return cheeseCells.get(x, y);
     }
 
     /**
      * Update the graphical position of the mouse within the maze grid.
      *
-     * @param x The new frid position x of the mouse
+     * @param x The new grid position x of the mouse
      * @param y The new grid position y of the mouse
      */
     public void updateMouse(int x, int y) throws InterruptedException {
-        gui.updateMouse(x, y);
-        Thread.sleep(50);
+        if (listeners.isEmpty()) {
+            return;
+        }
+        long start = Metric.start();
+        for (MazeListener listener : listeners) {
+            listener.mouseMoved(x, y);
+        }
+        Metric.LISTENER.recordSince(start);
     }
 
     /**
@@ -119,7 +713,14 @@ public abstract class Maze {
      * @param y The grid position y to restore
      */
     public void restoreCell(int x, int y) {
-        gui.restoreCell(x, y);
+        if (listeners.isEmpty()) {
+            return;
+        }
+        long start = Metric.start();
+        for (MazeListener listener : listeners) {
+            listener.cellRestored(x, y);
+        }
+        Metric.LISTENER.recordSince(start);
     }
 
     /**
@@ -140,6 +741,24 @@ public abstract class Maze {
         return depth;
     }
 
+    /**
+     * Get the grid position x of the cheese.
+     *
+     * @return the grid position x of the cheese
+     */
+    public int getCheeseX() {
+        return cheesePosX;
+    }
+
+    /**
+     * Get the grid position y of the cheese.
+     *
+     * @return the grid position y of the cheese
+     */
+    public int getCheeseY() {
+        return cheesePosY;
+    }
+
     /**
      * Check if a specified set of coordinates is a passage or a wall.
      *
@@ -148,7 +767,267 @@ public abstract class Maze {
      * @return true if a passage, false if a wall
      */
     public boolean isPassage(int x, int y) {
-        return coordinates[x][y];
+        return coordinates.get(x, y);
+    }
+
+    /**
+     * Check if a cell is a passage or a wall by its packed index.
+     *
+     * @param cell The packed index of the cell, y * width + x
+     * @return true if a passage, false if a wall
+     */
+    public boolean isPassageAt(int cell) {
+        return coordinates.get((long) cell);
+    }
+
+    /**
+     * Check which of up to 64 cells of a row are passages, all at once.
+     *
+     * @param x The grid position x of the first cell
+     * @param y The grid position y of the row
+     * @return one bit a cell, set for a passage, with the first cell in the
+     * lowest bit and 0 for cells past the end of the row
+     */
+    public long getPassageBits(int x, int y) {
+        long bits = coordinates.getBits((long) y * width + x);
+        int count = width - x;
+        return count >= 64 ? bits : bits & ((1L << count) - 1);
+    }
+
+    /**
+     * Make a specified set of coordinates a passage or a wall.
+     *
+     * @param x The grid position x of the cell
+     * @param y The grid position y of the cell
+     * @param passage true for a passage, false for a wall
+     */
+    protected void setPassage(int x, int y, boolean passage) {
+        if (coordinates.set(x, y, passage)) {
+            fingerprint ^= cellKey(y * width + x);
+        }
+    }
+
+    /**
+     * Get the fingerprint of the walls of the maze. A maze that keeps its
+     * cells elsewhere is fingerprinted from all of them the first time this
+     * is asked for, and never changes after.
+     *
+     * @return the fingerprint, the same for any two mazes with the same
+     * size and walls
+     */
+    public long getFingerprint() {
+        synchronized (wallLock) {
+            if (!fingerprinted) {
+                long print = emptyFingerprint();
+                for (int y = 0; y < depth; y++) {
+                    for (int x = 0; x < width; x += 64) {
+                        for (long bits = getPassageBits(x, y); bits != 0; bits &= bits - 1) {
+                            print ^= cellKey(y * width + x + Long.numberOfTrailingZeros(bits));
+                        }
+                    }
+                }
+                fingerprint = print;
+                fingerprinted = true;
+            }
+            return fingerprint;
+        }
+    }
+
+    /**
+     * Get the fingerprint of a grid of this size with no passages.
+     */
+    private long emptyFingerprint() {
+        return mix(~((long) width << 32 | depth));
+    }
+
+    /**
+     * Get the random key a passage cell adds to the fingerprint.
+     */
+    private static long cellKey(int cell) {
+        return mix((cell + 1L) * 0x9E3779B97F4A7C15L);
+    }
+
+    /**
+     * Scramble a number with the finaliser of SplitMix64, so that numbers
+     * close together give keys with nothing in common.
+     */
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    /**
+     * Share a cache of routes among the mice that plan their route in this
+     * maze. One cache can serve many mazes, as routes are kept by the
+     * fingerprint of the walls they were found in.
+     *
+     * @param cache The cache to use, or null for none
+     */
+    public void setPathCache(PathCache cache) {
+        pathCache = cache;
+    }
+
+    /**
+     * Get the cache of routes shared by the mice that plan their route in
+     * this maze.
+     *
+     * @return the cache, or null if there is none
+     */
+    public PathCache getPathCache() {
+        return pathCache;
+    }
+
+    /**
+     * Check if a specified set of coordinates has been carved into a passage
+     * by the generator, reading the maze's own grid even where a subclass
+     * reads its cells some other way in isPassage().
+     *
+     * @param x The grid position x of the cell to check
+     * @param y The grid position y of the cell to check
+     * @return true if a passage, false if a wall
+     */
+    protected boolean isCarved(int x, int y) {
+        return coordinates.get(x, y);
+    }
+
+    /**
+     * Open a wall of the generated maze into a passage, telling the wall
+     * listeners. May be called from any thread, while mice are running. Only
+     * a wall between two rooms can be opened, a cell with exactly one odd
+     * coordinate, so that the rooms stay where they are.
+     *
+     * @param x The grid position x of the cell
+     * @param y The grid position y of the cell
+     * @return true if the cell was a wall, false if it was already a passage
+     */
+    public boolean openWall(int x, int y) {
+        return changeWall(x, y, true);
+    }
+
+    /**
+     * Close the passage between two rooms of the generated maze into a wall,
+     * telling the wall listeners. May be called from any thread, while mice
+     * are running. As with {@link #openWall}, only a cell with exactly one
+     * odd coordinate can be closed.
+     *
+     * @param x The grid position x of the cell
+     * @param y The grid position y of the cell
+     * @return true if the cell was a passage, false if it was already a wall
+     */
+    public boolean closeWall(int x, int y) {
+        return changeWall(x, y, false);
+    }
+
+    /**
+     * Change a cell of the generated maze, dropping the distance field and
+     * junction graph built from its old walls, and marking the tiles of the
+     * tile graph the change touches to be worked out again. Changes are made
+     * one at a time, and the listeners hear of them in the order they were
+     * made.
+     */
+    private boolean changeWall(int x, int y, boolean passage) {
+        if (coordinates == null) {
+            throw new UnsupportedOperationException("The walls of " + getClass().getSimpleName() + " cannot be changed");
+        }
+        if (x <= 0 || y <= 0 || x >= width - 1 || y >= depth - 1) {
+            throw new IllegalArgumentException("(" + x + ", " + y + ") is not inside the border");
+        }
+        if (((x ^ y) & 1) == 0) {
+            throw new IllegalArgumentException("(" + x + ", " + y + ") is not a wall between two rooms");
+        }
+        if (!passage && isCheese(x, y)) {
+            throw new IllegalArgumentException("(" + x + ", " + y + ") has cheese in it");
+        }
+        synchronized (wallLock) {
+            if (coordinates.get(x, y) == passage) {
+                return false;
+            }
+            coordinates.set(x, y, passage);
+            fingerprint ^= cellKey(y * width + x);
+            synchronized (this) {
+                distanceField = null;
+                junctionGraph = null;
+                if (tileGraph != null) {
+                    tileGraph.wallChanged(x, y, passage);
+                }
+            }
+            for (WallListener listener : wallListeners) {
+                listener.wallChanged(x, y, passage);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Attach a listener to hear of the walls of the maze changing.
+     *
+     * @param listener The listener to attach
+     */
+    public void addWallListener(WallListener listener) {
+        wallListeners.add(listener);
+    }
+
+    /**
+     * Detach a wall listener from the maze.
+     *
+     * @param listener The listener to detach
+     */
+    public void removeWallListener(WallListener listener) {
+        wallListeners.remove(listener);
+    }
+
+    /**
+     * Make every cell of the maze a wall.
+     */
+    protected void clearPassages() {
+        coordinates.clear();
+        fingerprint = emptyFingerprint();
+    }
+
+    /**
+     * Check if a specified set of coordinates has been visited by the
+     * generator.
+     *
+     * @param x The grid position x of the cell to check
+     * @param y The grid position y of the cell to check
+     * @return true if visited, false if not
+     */
+    protected boolean isVisited(int x, int y) {
+        return visited.get(x, y);
+    }
+
+    /**
+     * Mark a specified set of coordinates as visited by the generator.
+     *
+     * @param x The grid position x of the visited cell
+     * @param y The grid position y of the visited cell
+     */
+    protected void setVisited(int x, int y) {
+        visited.set(x, y, true);
+    }
+
+    /**
+     * Start a fresh visited set for the generator, with no cells visited.
+     */
+    protected void resetVisited() {
+        if (visited == null) {
+            visited = new BitGrid(width, depth);
+        } else {
+            visited.clear();
+        }
+    }
+
+    /**
+     * Mark the generator as finished with the visited set, freeing it. Once
+     * the maze has prepared a reset in the background it is expected to be
+     * reset again and again, so from then on the set is kept, to be cleared
+     * and reused by the next generation rather than allocated again.
+     */
+    protected void releaseVisited() {
+        if (!keepVisited) {
+            visited = null;
+        }
     }
 
     /**
@@ -156,6 +1035,9 @@ public abstract class Maze {
      */
     public static void main(String[] args) {
         System.setProperty("java.util.Arrays.useLegacyMergeSort", "true"); // Prevent bug in jdk throwing weird exception.
-        new RecursiveBacktracker(80, 60);
+        if (Metric.isEnabled()) {
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> System.err.print(Metric.report())));
+        }
+        new MazeGUI(new RecursiveBacktracker(80, 60));
     }
 }
\ No newline at end of file
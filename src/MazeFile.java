@@ -0,0 +1,159 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Saves mazes to, and opens them from, a compact binary file.
+ *
+ * A file is a 64-byte header followed by the cells of the maze, one bit per
+ * cell, row-major and packed into little-endian longs exactly as a BitGrid
+ * holds them. All numbers are little-endian. The header holds, in order:
+ * <ul>
+ * <li>the magic number MAZE_MAGIC and the format VERSION, 4 bytes each</li>
+ * <li>the grid width and depth, 4 bytes each</li>
+ * <li>the seed the maze was generated from, 8 bytes</li>
+ * <li>the name of the generator, 24 bytes of ASCII padded with zeros</li>
+ * <li>flags, 4 bytes, with HAS_CHEESE set if the cheese position is valid</li>
+ * <li>the grid position x and y of the cheese, 4 bytes each</li>
+ * <li>zeros up to the end of the header</li>
+ * </ul>
+ *
+ * @author Michael Quested
+ * @version 1.1
+ * @date 2026/10/18
+ */
+public class MazeFile {
+
+    public final static int MAZE_MAGIC = 0x4D5A4D4D; // "MMZM" little-endian
+    public final static int VERSION = 1;
+    public final static int HEADER_SIZE = 64;
+    public final static int HAS_CHEESE = 1;
+    private final static int NAME_SIZE = 24;
+    private final static int WRITE_BUFFER = 1 << 20;
+
+    private MazeFile() {
+    }
+
+    /**
+     * Save a maze to a file, replacing anything already there.
+     *
+     * @param maze The maze to save
+     * @param path The file to save it to
+     */
+    public static void save(Maze maze, Path path) throws IOException {
+        save(maze, path, maze.getSeed());
+    }
+
+    /**
+     * Save a maze to a file under a given seed, replacing anything already
+     * there.
+     *
+     * @param maze The maze to save
+     * @param path The file to save it to
+     * @param seed The seed the maze was generated from
+     */
+    public static void save(Maze maze, Path path, long seed) throws IOException {
+        int width = maze.getWidth();
+        int depth = maze.getDepth();
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+            header.putInt(MAZE_MAGIC).putInt(VERSION).putInt(width).putInt(depth).putLong(seed);
+            byte[] name = maze.getGeneratorName().getBytes(StandardCharsets.US_ASCII);
+            header.put(name, 0, Math.min(name.length, NAME_SIZE));
+            header.position(48);
+            header.putInt(maze.cheeseIsSet ? HAS_CHEESE : 0).putInt(maze.getCheeseX()).putInt(maze.getCheeseY());
+            header.clear();
+            writeFully(channel, header);
+
+            ByteBuffer payload = ByteBuffer.allocateDirect(WRITE_BUFFER).order(ByteOrder.LITTLE_ENDIAN);
+            long cells = (long) width * depth;
+            long word = 0;
+            int x = 0, y = 0;
+            for (long bit = 0; bit < cells; bit++) {
+                if (maze.isPassage(x, y)) {
+                    word |= 1L << bit;
+                }
+                if (++x == width) {
+                    x = 0;
+                    y++;
+                }
+                if ((bit & 63) == 63 || bit == cells - 1) {
+                    payload.putLong(word);
+                    word = 0;
+                    if (!payload.hasRemaining()) {
+                        payload.flip();
+                        writeFully(channel, payload);
+                        payload.clear();
+                    }
+                }
+            }
+            payload.flip();
+            writeFully(channel, payload);
+        }
+    }
+
+    /**
+     * Open a maze file by mapping it into memory. The cells stay in the file
+     * and are paged in as they are read, so a maze far larger than the heap
+     * can be opened straight away.
+     *
+     * @param path The file to open
+     * @return the maze held in the file
+     * @throws IOException if the file is not a maze file of this version, its
+     * size or cheese is impossible, or it is shorter than its size needs
+     */
+    public static MappedMaze open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+            while (header.hasRemaining() && channel.read(header) >= 0) {
+            }
+            header.flip();
+            if (header.remaining() < HEADER_SIZE || header.getInt() != MAZE_MAGIC) {
+                throw new IOException(path + " is not a maze file");
+            }
+            int version = header.getInt();
+            if (version != VERSION) {
+                throw new IOException(path + " is version " + version + ", expected " + VERSION);
+            }
+            int width = header.getInt();
+            int depth = header.getInt();
+            long seed = header.getLong();
+            byte[] name = new byte[NAME_SIZE];
+            header.get(name);
+            int flags = header.getInt();
+            int cheeseX = header.getInt();
+            int cheeseY = header.getInt();
+            if (width < 3 || depth < 3 || width % 2 == 0 || depth % 2 == 0) {
+                throw new IOException(path + " holds a maze of " + width + " by " + depth
+                        + ", not odd and at least 3 each way");
+            }
+            if ((flags & HAS_CHEESE) != 0
+                    && (cheeseX < 0 || cheeseY < 0 || cheeseX >= width || cheeseY >= depth)) {
+                throw new IOException(path + " has its cheese at (" + cheeseX + ", " + cheeseY
+                        + "), outside the maze");
+            }
+
+            long payload = (((long) width * depth + 63) >>> 6) * 8;
+            if (channel.size() < HEADER_SIZE + payload) {
+                throw new IOException(path + " is truncated");
+            }
+            MappedMaze maze = new MappedMaze(channel, HEADER_SIZE, width, depth, seed,
+                    new String(name, StandardCharsets.US_ASCII).trim());
+            if ((flags & HAS_CHEESE) != 0) {
+                maze.setCheese(cheeseX, cheeseY);
+            }
+            return maze;
+        }
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+}
@@ -1,11 +1,15 @@
 
 import java.awt.*;
 import java.awt.event.*;
+import java.util.concurrent.ExecutionException;
 import javax.swing.*;
+import javax.swing.event.*;
 
 /**
  * A class that constructs and maintains a graphical user interface for the Maze
- * Mouse program.
+ * Mouse program. The mouse runs at full speed in the background, and its run
+ * is then played back at a speed it can be watched at, with a bar to move
+ * through it.
  *
  * @author Michael Quested
  * @version 0.5
@@ -23,25 +27,82 @@ public class MazeGUI {
     private final static String INSTRUCTIONS =
             "\nOnce maze has been generated, click on a cell\n"
             + "to place the cheese in the maze, then place the\n"
-            + "mouse and watch it hunt for the cheese.\n\n"
+            + "mouse and watch it hunt for the cheese. Hold\n"
+            + "shift to place more pieces of cheese, and the\n"
+            + "mouse will collect them all.\n\n"
             + "A new maze can be started at any time by using\n"
-            + "the reset button in the menu.\n\n";
+            + "the reset button in the menu, or with another\n"
+            + "algorithm from the generator menu. A braided\n"
+            + "maze has loops, which the mouse finds its way\n"
+            + "through by marking the passages it takes.\n\n"
+            + "Once the mouse has found the cheese its run is\n"
+            + "played back. The bar below the maze pauses it,\n"
+            + "moves through it or skips to its end.\n\n";
+    private final static double[] SPEEDS = {5, 20, 100, 1000, 10000};
+    private final static double BRAID_FRACTION = 0.5;
     private JFrame frame;
     private Container contentPane;
-    private JPanel panel;
-    private JLabel[][] cells;
+    private final static Dimension VIEWPORT_SIZE = new Dimension(1200, 800);
+    private MazeView view;
+    private JScrollPane scrollPane;
     private Maze maze;
+    private boolean picking;
+    private int hoverX = -1, hoverY = -1;
+    private Color hoverColor;
+    private Playback playback;
+    private JSlider scrubber;
+    private JButton playButton;
+    private double speed = Playback.DEFAULT_SPEED;
+    private JMenu generatorMenu;
+    private JCheckBoxMenuItem braidItem;
+    private Generator nextGenerator;
 
     /**
-     * Constructor for objects of class MazeGUI.
+     * Constructor for objects of class MazeGUI. Opens a window onto the maze.
      *
-     * @param width The grid width of the maze
-     * @param depth The grid depth of the maze
+     * @param maze The maze to display
      */
     public MazeGUI(Maze maze) {
         this.maze = maze;
-        cells = new JLabel[maze.getWidth()][maze.getDepth()];
         makeFrame();
+        renderMaze();
+        prepareReset();
+    }
+
+    /**
+     * Generate the next maze in the background while this one is in use, so
+     * that resetting only has to swap it in.
+     */
+    private void prepareReset() {
+        SwingWorker<Void, Void> prepareWorker = new SwingWorker<Void, Void>() {
+            @Override
+            public Void doInBackground() {
+                maze.prepareReset();
+                return null;
+            }
+        };
+        prepareWorker.execute();
+    }
+
+    /**
+     * Wrap a generator so that it braids its mazes, if Braided is ticked.
+     *
+     * @param generator The generator of perfect mazes
+     * @return the generator to reset the maze with
+     */
+    private Generator braided(Generator generator) {
+        return braidItem.isSelected() ? new BraidGenerator(generator, BRAID_FRACTION) : generator;
+    }
+
+    /**
+     * Get the generator of perfect mazes inside a braiding generator.
+     *
+     * @param generator The generator the maze is using
+     * @return the generator it wraps, or the generator itself if it does not
+     * braid
+     */
+    private static Generator unbraided(Generator generator) {
+        return generator instanceof BraidGenerator ? ((BraidGenerator) generator).getGenerator() : generator;
     }
 
     /**
@@ -52,142 +113,292 @@ public class MazeGUI {
         frame.setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
         frame.setJMenuBar(makeMenuBar());
         contentPane = frame.getContentPane();
-        makeCellPanel();
-        frame.setResizable(false);
+        makeMazeView();
+        makePlaybackBar();
         frame.pack();
         frame.setLocationRelativeTo(null);
         frame.setVisible(true);
     }
 
     /**
-     * Initialise the panel that contains the cells of the maze.
+     * Initialise the view that paints the cells of the maze, with a single
+     * listener that works out which cell is under the pointer. The view sits
+     * in a scroll pane no larger than the screen, so only the part of a large
+     * maze in sight is painted, and holding control while turning the wheel
+     * zooms it.
      */
-    private void makeCellPanel() {
-        panel = new JPanel(new GridLayout(maze.getDepth(), maze.getWidth()));
-        panel.setBackground(Color.BLACK);
-        contentPane.add(panel);
-        panel.setPreferredSize(new Dimension(maze.getWidth() * 8, maze.getDepth() * 8));
-        panel.setMinimumSize(new Dimension(maze.getWidth() * 8, maze.getDepth() * 8));
-        panel.setMaximumSize(new Dimension(maze.getWidth() * 8, maze.getDepth() * 8));
-    }
+    private void makeMazeView() {
+        view = new MazeView(maze);
+        MouseAdapter picker = new MouseAdapter() {
+            @Override
+            public void mouseMoved(MouseEvent e) {
+                hover(view.cellX(e.getPoint()), view.cellY(e.getPoint()));
+            }
 
-    /**
-     * Iterate through the coordinates of the maze and render each cell as
-     * either a passage or a wall.
-     */
-    public void renderMaze() {
-        for (int y = 0; y < maze.getDepth(); y++) {
-            for (int x = 0; x < maze.getWidth(); x++) {
-                cells[x][y] = new JLabel();
-                if (maze.isPassage(x, y)) {
-                    addPassage(x, y);
+            @Override
+            public void mouseExited(MouseEvent e) {
+                hover(-1, -1);
+            }
+
+            @Override
+            public void mouseClicked(MouseEvent e) {
+                pick(view.cellX(e.getPoint()), view.cellY(e.getPoint()), e.isShiftDown());
+            }
+        };
+        view.addMouseListener(picker);
+        view.addMouseMotionListener(picker);
+        scrollPane = new JScrollPane(view);
+        scrollPane.getVerticalScrollBar().setUnitIncrement(16);
+        scrollPane.getHorizontalScrollBar().setUnitIncrement(16);
+        view.addMouseWheelListener(new MouseWheelListener() {
+            @Override
+            public void mouseWheelMoved(MouseWheelEvent e) {
+                if (e.isControlDown()) {
+                    zoom(e.getWheelRotation() < 0 ? 1 : -1);
                 } else {
-                    addWall(x, y);
+                    scrollPane.dispatchEvent(SwingUtilities.convertMouseEvent(view, e, scrollPane));
                 }
             }
+        });
+        Dimension size = view.getPreferredSize();
+        if (size.width > VIEWPORT_SIZE.width || size.height > VIEWPORT_SIZE.height) {
+            scrollPane.getViewport().setPreferredSize(new Dimension(
+                    Math.min(size.width, VIEWPORT_SIZE.width), Math.min(size.height, VIEWPORT_SIZE.height)));
         }
-        panel.revalidate();
+        contentPane.add(scrollPane);
     }
 
     /**
-     * Represent a cell in the grid as a passage.
-     * 
-     * @param x The grid position x of the passage
-     * @param y The grid position y of the passage
+     * Zoom the view in or out by a power of two, keeping the cell at the
+     * centre of the viewport in the centre.
+     *
+     * @param steps The number of powers of two to zoom in by, negative to
+     * zoom out
      */
-    private void addPassage(int x, int y) {
-        final JLabel cell = cells[x][y];
-        final int col = x;
-        final int row = y;
-        cell.setBackground(Color.WHITE);
-        cell.setOpaque(true);
-        cell.addMouseListener(new MouseListener() {
-            Color oldColor;
+    private void zoom(int steps) {
+        JViewport viewport = scrollPane.getViewport();
+        Rectangle visible = viewport.getViewRect();
+        Point centre = new Point(visible.x + visible.width / 2, visible.y + visible.height / 2);
+        int cellX = view.cellX(centre);
+        int cellY = view.cellY(centre);
+        int before = view.getZoom();
+        view.setZoom(before + steps);
+        int after = view.getZoom();
+        if (after == before || cellX < 0 || cellY < 0) {
+            return;
+        }
+        int x = after >= 0 ? cellX << after : cellX >> -after;
+        int y = after >= 0 ? cellY << after : cellY >> -after;
+        viewport.validate();
+        Dimension size = view.getPreferredSize();
+        viewport.setViewPosition(new Point(
+                Math.max(0, Math.min(size.width - visible.width, x - visible.width / 2)),
+                Math.max(0, Math.min(size.height - visible.height, y - visible.height / 2))));
+    }
 
+    /**
+     * Make the bar under the maze that pauses, moves through and skips the
+     * playback of the mouse's run.
+     */
+    private void makePlaybackBar() {
+        JPanel bar = new JPanel(new BorderLayout());
+        playButton = new JButton("Pause");
+        playButton.addActionListener(new ActionListener() {
             @Override
-            public void mouseEntered(MouseEvent e) {
-                oldColor = cell.getBackground();
-                if (!maze.cheeseIsSet) {
-                    cell.setBackground(Color.YELLOW);
-                } else if (!maze.mouseIsSet) {
-                    cell.setBackground(Color.BLUE);
+            public void actionPerformed(ActionEvent e) {
+                if (playback.isPlaying()) {
+                    playback.pause();
+                } else {
+                    playback.play();
                 }
+                updatePlaybackBar();
             }
-
-            @Override
-            public void mouseExited(MouseEvent e) {
-                cell.setBackground(oldColor);
-            }
-
+        });
+        scrubber = new JSlider(0, 0, 0);
+        scrubber.addChangeListener(new ChangeListener() {
             @Override
-            public void mouseClicked(MouseEvent evt) {
-                if (!maze.cheeseIsSet) {
-                    oldColor = Color.YELLOW;
-                    maze.setReset();
-                    maze.setCheese(col, row);
-                } else if (!maze.mouseIsSet) {
-                    removeListeners();
-                    oldColor = Color.WHITE;
-                    SwingWorker runMouse = new SwingWorker<Void, Void>() {
-                        @Override
-                        public Void doInBackground() {
-                            try {
-                                updateMouse(col, row);
-                                maze.setMouse(col, row);
-                            } catch (InterruptedException e) {
-                            }
-                            return null;
-                        }
-                    };
-                    runMouse.execute();
+            public void stateChanged(ChangeEvent e) {
+                if (playback != null && scrubber.getValueIsAdjusting()) {
+                    playback.pause();
+                    playback.seek(scrubber.getValue());
                 }
             }
-
+        });
+        JButton skipButton = new JButton("Skip");
+        skipButton.addActionListener(new ActionListener() {
             @Override
-            public void mousePressed(MouseEvent evt) {
+            public void actionPerformed(ActionEvent e) {
+                playback.skip();
+                updatePlaybackBar();
             }
+        });
+        bar.add(playButton, BorderLayout.WEST);
+        bar.add(scrubber, BorderLayout.CENTER);
+        bar.add(skipButton, BorderLayout.EAST);
+        contentPane.add(bar, BorderLayout.SOUTH);
+        setPlaybackEnabled(false);
+    }
 
+    /**
+     * Bring the playback bar up to date with the playback.
+     */
+    private void updatePlaybackBar() {
+        if (!scrubber.getValueIsAdjusting()) {
+            scrubber.setValue(playback.getPosition());
+        }
+        playButton.setText(playback.isPlaying() ? "Pause" : "Play");
+    }
+
+    /**
+     * Enable or disable every control of the playback bar.
+     */
+    private void setPlaybackEnabled(boolean enabled) {
+        for (Component component : scrubber.getParent().getComponents()) {
+            component.setEnabled(enabled);
+        }
+    }
+
+    /**
+     * Stop any playback, leaving the mouse where it was shown.
+     */
+    private void stopPlayback() {
+        if (playback != null) {
+            playback.pause();
+            playback = null;
+        }
+        setPlaybackEnabled(false);
+    }
+
+    /**
+     * Play back the run of a mouse from its start.
+     *
+     * @param mouse The mouse, which recorded the path it took
+     */
+    private void play(Mouse mouse) {
+        playback = new Playback(view, mouse.getPath(), maze.getWidth());
+        playback.setSpeed(speed);
+        scrubber.setMaximum(playback.getMoves());
+        scrubber.setValue(0);
+        playback.setOnFrame(new Runnable() {
             @Override
-            public void mouseReleased(MouseEvent evt) {
+            public void run() {
+                updatePlaybackBar();
             }
         });
-        panel.add(cell);
+        setPlaybackEnabled(true);
+        playback.play();
+        updatePlaybackBar();
     }
 
     /**
-     * Represent a cell in the grid as a wall.
-     * 
-     * @param x The grid position x of the wall
-     * @param y The grid position y of the wall
+     * Iterate through the coordinates of the maze and render each cell as
+     * either a passage or a wall.
      */
-    private void addWall(int x, int y) {
-        JLabel cell = cells[x][y];
-        cell.setBackground(Color.BLACK);
-        cell.setOpaque(true);
-        cell.setEnabled(false);
-        panel.add(cell);
+    public void renderMaze() {
+        stopPlayback();
+        hoverX = -1;
+        hoverY = -1;
+        view.renderMaze();
+        picking = true;
     }
 
     /**
-     * Update the mouse's position on the grid.
-     *
-     * @param x The grid position x of the mouse
-     * @param y The grid position y of the mouse
+     * Highlight the passage under the pointer in the colour of whatever is
+     * about to be placed, restoring the cell it last highlighted.
+     * 
+     * @param x The grid position x under the pointer, or -1 if none
+     * @param y The grid position y under the pointer, or -1 if none
      */
-    public void updateMouse(int x, int y) {
-        cells[x][y].setBackground(Color.BLUE);
-        cells[x][y].revalidate();
+    private void hover(int x, int y) {
+        if (x == hoverX && y == hoverY) {
+            return;
+        }
+        if (hoverX >= 0) {
+            view.setCell(hoverX, hoverY, hoverColor);
+            hoverX = -1;
+            hoverY = -1;
+        }
+        if (!picking || x < 0 || y < 0 || !maze.isPassage(x, y)) {
+            return;
+        }
+        hoverX = x;
+        hoverY = y;
+        hoverColor = view.getCell(x, y);
+        if (!maze.cheeseIsSet) {
+            view.setCell(x, y, Color.YELLOW);
+        } else if (!maze.mouseIsSet) {
+            view.setCell(x, y, Color.BLUE);
+        }
     }
 
     /**
-     * Restore the cell to represent an empty passage.
-     *
-     * @param x The grid position x of the passage
-     * @param y The grid position y of the passage
+     * Place the cheese, or failing that the mouse, in the passage clicked on.
+     * Holding shift places another piece of cheese instead of the mouse.
+     * 
+     * @param x The grid position x clicked on, or -1 if none
+     * @param y The grid position y clicked on, or -1 if none
+     * @param more true to place another piece of cheese
      */
-    public void restoreCell(int x, int y) {
-        cells[x][y].setBackground(Color.WHITE);
-        cells[x][y].revalidate();
+    private void pick(final int x, final int y, boolean more) {
+        if (!picking || x < 0 || y < 0 || !maze.isPassage(x, y)) {
+            return;
+        }
+        if (!maze.cheeseIsSet || more) {
+            if (x == hoverX && y == hoverY) {
+                hoverColor = Color.YELLOW;
+            }
+            view.setCell(x, y, Color.YELLOW);
+            maze.setReset();
+            maze.addCheese(x, y);
+        } else if (!maze.mouseIsSet) {
+            hover(-1, -1);
+            picking = false;
+            view.setCell(x, y, Color.BLUE);
+            SwingWorker<Mouse, Void> runMouse = new SwingWorker<Mouse, Void>() {
+                @Override
+                public Mouse doInBackground() {
+                    if (maze.getCheeseCount() > 1) {
+                        return maze.trace(new TourFollower(maze), x, y);
+                    }
+                    if (maze.getGenerator() instanceof BraidGenerator) {
+                        return maze.trace(new Tremaux(maze), x, y);
+                    }
+                    return maze.trace(x, y);
+                }
+
+                /**
+                 * Play the run back, or if the mouse failed or gave up, say
+                 * why and take it back out so that it can be placed again.
+                 */
+                @Override
+                public void done() {
+                    boolean played = false;
+                    try {
+                        Mouse mouse = get();
+                        if (maze.isReset()) {
+                            played = true;
+                        } else if (mouse.hasGivenUp() || !mouse.hasFoundCheese()) {
+                            errorMessage("The mouse gave up after " + mouse.getSteps()
+                                    + " steps without finding the cheese.", "Mouse Gave Up");
+                        } else {
+                            play(mouse);
+                            played = true;
+                        }
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    } catch (ExecutionException e) {
+                        errorMessage("The mouse could not be run: " + e.getCause(), "Mouse Failed");
+                    } finally {
+                        if (!played && !maze.isReset()) {
+                            maze.mouseIsSet = false;
+                            view.setCell(x, y, Color.WHITE);
+                            picking = true;
+                        }
+                    }
+                }
+            };
+            runMouse.execute();
+        }
     }
 
     /**
@@ -210,27 +421,57 @@ public class MazeGUI {
         resetItem.addActionListener(new ActionListener() {
             @Override
             public void actionPerformed(ActionEvent e) {
-                SwingWorker resetWorker = new SwingWorker<Void, Void>() {
+                resetItem.setEnabled(false);
+                generatorMenu.setEnabled(false);
+                stopPlayback();
+                picking = false;
+                final Generator generator = nextGenerator;
+                nextGenerator = null;
+                SwingWorker<Void, Void> resetWorker = new SwingWorker<Void, Void>() {
                     @Override
                     public Void doInBackground() {
-                        resetItem.setEnabled(false);
+                        if (generator != null) {
+                            maze.setGenerator(generator);
+                        }
                         maze.reset();
-                        frame.repaint();
-                        renderMaze();
                         return null;
                     }
 
                     @Override
                     public void done() {
+                        renderMaze();
                         resetItem.setEnabled(true);
+                        generatorMenu.setEnabled(maze.getGenerator() != null);
+                        prepareReset();
                     }
                 };
-                panel.removeAll();
                 resetWorker.execute();
             }
         });
         mazeMenu.add(resetItem);
 
+        // Zoom in item
+        JMenuItem zoomInItem = new JMenuItem("Zoom In");
+        zoomInItem.setBorderPainted(false);
+        zoomInItem.addActionListener(new ActionListener() {
+            @Override
+            public void actionPerformed(ActionEvent e) {
+                zoom(1);
+            }
+        });
+        mazeMenu.add(zoomInItem);
+
+        // Zoom out item
+        JMenuItem zoomOutItem = new JMenuItem("Zoom Out");
+        zoomOutItem.setBorderPainted(false);
+        zoomOutItem.addActionListener(new ActionListener() {
+            @Override
+            public void actionPerformed(ActionEvent e) {
+                zoom(-1);
+            }
+        });
+        mazeMenu.add(zoomOutItem);
+
         // Quit item
         JMenuItem quitItem = new JMenuItem("Quit");
         quitItem.setBorderPainted(false);
@@ -242,6 +483,72 @@ public class MazeGUI {
         });
         mazeMenu.add(quitItem);
 
+        //---------------------- The Generator Menu --------------------
+
+        generatorMenu = new JMenu("Generator");
+        generatorMenu.setBorderPainted(false);
+        generatorMenu.getPopupMenu().setBorder(null);
+        generatorMenu.setEnabled(maze.getGenerator() != null);
+        menuBar.add(generatorMenu);
+
+        // An item for each generator, which resets the maze with it
+        ButtonGroup generators = new ButtonGroup();
+        for (final String name : Generator.NAMES) {
+            JRadioButtonMenuItem generatorItem = new JRadioButtonMenuItem(name);
+            generatorItem.setBorderPainted(false);
+            generatorItem.setSelected(maze.getGenerator() != null
+                    && Generator.create(name).getClass() == unbraided(maze.getGenerator()).getClass());
+            generatorItem.addActionListener(new ActionListener() {
+                @Override
+                public void actionPerformed(ActionEvent e) {
+                    nextGenerator = braided(Generator.create(name));
+                    resetItem.doClick();
+                }
+            });
+            generators.add(generatorItem);
+            generatorMenu.add(generatorItem);
+        }
+
+        // Braided item, which resets the maze with loops in it
+        generatorMenu.addSeparator();
+        braidItem = new JCheckBoxMenuItem("Braided");
+        braidItem.setBorderPainted(false);
+        braidItem.setSelected(maze.getGenerator() instanceof BraidGenerator);
+        braidItem.addActionListener(new ActionListener() {
+            @Override
+            public void actionPerformed(ActionEvent e) {
+                nextGenerator = braided(unbraided(maze.getGenerator()));
+                resetItem.doClick();
+            }
+        });
+        generatorMenu.add(braidItem);
+
+        //---------------------- The Speed Menu ------------------------
+
+        JMenu speedMenu = new JMenu("Speed");
+        speedMenu.setBorderPainted(false);
+        speedMenu.getPopupMenu().setBorder(null);
+        menuBar.add(speedMenu);
+
+        // An item for each playback speed
+        ButtonGroup speeds = new ButtonGroup();
+        for (final double movesPerSecond : SPEEDS) {
+            JRadioButtonMenuItem speedItem = new JRadioButtonMenuItem((int) movesPerSecond + " moves/s");
+            speedItem.setBorderPainted(false);
+            speedItem.setSelected(movesPerSecond == speed);
+            speedItem.addActionListener(new ActionListener() {
+                @Override
+                public void actionPerformed(ActionEvent e) {
+                    speed = movesPerSecond;
+                    if (playback != null) {
+                        playback.setSpeed(speed);
+                    }
+                }
+            });
+            speeds.add(speedItem);
+            speedMenu.add(speedItem);
+        }
+
         //---------------------- The Help Menu -------------------------
 
         JMenu helpMenu = new JMenu("Help");
@@ -281,16 +588,9 @@ public class MazeGUI {
     }
     
     /**
-     * Remove 
+     * Create a popup error message.
      */
-    private void removeListeners(){
-        for(int y = 0; y < maze.getDepth(); y++){
-            for(int x = 0; x < maze.getWidth(); x ++){
-                MouseListener[] listeners = cells[x][y].getMouseListeners();
-                for(MouseListener l : listeners){
-                    cells[x][y].removeMouseListener(l);
-                }
-            }
-        }
+    private void errorMessage(String error, String title) {
+        JOptionPane.showMessageDialog(frame, error, title, JOptionPane.ERROR_MESSAGE);
     }
 }
\ No newline at end of file
@@ -0,0 +1,26 @@
+/**
+ * An observer of a maze, notified as a mouse makes its way through it. A maze
+ * runs headless at full speed when nothing is listening to it.
+ *
+ * @author Michael Quested
+ * @version 1.1
+ * @date 2026/10/18
+ */
+public interface MazeListener {
+
+    /**
+     * Called when the mouse has moved to a new cell.
+     *
+     * @param x The new grid position x of the mouse
+     * @param y The new grid position y of the mouse
+     */
+    void mouseMoved(int x, int y) throws InterruptedException;
+
+    /**
+     * Called when the mouse has left a cell, which is an empty passage again.
+     *
+     * @param x The grid position x of the cell
+     * @param y The grid position y of the cell
+     */
+    void cellRestored(int x, int y);
+}
@@ -0,0 +1,253 @@
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.util.ArrayList;
+import java.util.List;
+import javax.swing.*;
+
+/**
+ * A component that paints a maze from a single image holding one pixel per
+ * cell, scaled up to the size of a cell on screen. Changing a cell writes one
+ * pixel and repaints only that cell's rectangle.
+ *
+ * The view zooms in powers of two. At a zoom of 0 or more each cell is 2^zoom
+ * pixels square, and only the cells inside the clip are drawn, so inside a
+ * scroll pane only the visible part of the maze is ever painted. Below zoom 0
+ * each pixel covers 2^-zoom cells square, and the view paints from an overview
+ * image scaled down to match, in which each pixel is the average of the cells
+ * it covers. The overviews are built the first time they are needed after the
+ * maze is rendered, each from the one a level above it.
+ *
+ * @author Michael Quested
+ * @version 1.1
+ * @date 2026/10/18
+ */
+public class MazeView extends JComponent {
+
+    private final static long serialVersionUID = 1L;
+    public final static int DEFAULT_ZOOM = 3;
+    public final static int MAX_ZOOM = 5;
+    private Maze maze;
+    private BufferedImage image;
+    private int[] pixels;
+    private final List<BufferedImage> overviews = new ArrayList<>();
+    private int zoom = DEFAULT_ZOOM;
+
+    /**
+     * Constructor for class MazeView.
+     *
+     * @param maze The maze to paint
+     */
+    public MazeView(Maze maze) {
+        this.maze = maze;
+        image = new BufferedImage(maze.getWidth(), maze.getDepth(), BufferedImage.TYPE_INT_RGB);
+        pixels = ((DataBufferInt) image.getRaster().getDataBuffer()).getData();
+        overviews.add(image);
+        setOpaque(true);
+        updateSize();
+    }
+
+    /**
+     * Draw every cell of the maze as either a passage or a wall.
+     */
+    public void renderMaze() {
+        RenderEvent event = new RenderEvent();
+        event.begin();
+        long start = Metric.start();
+        int width = maze.getWidth();
+        int white = Color.WHITE.getRGB();
+        int black = Color.BLACK.getRGB();
+        for (int y = 0; y < maze.getDepth(); y++) {
+            int row = y * width;
+            for (int x = 0; x < width; x++) {
+                pixels[row + x] = maze.isPassage(x, y) ? white : black;
+            }
+        }
+        overviews.subList(1, overviews.size()).clear();
+        repaint();
+        Metric.RENDER.recordSince(start);
+        if (event.shouldCommit()) {
+            event.width = width;
+            event.depth = maze.getDepth();
+            event.commit();
+        }
+    }
+
+    /**
+     * Paint a single cell, repainting only that cell's area of the component.
+     * Any overviews already built are brought up to date as well.
+     *
+     * @param x The grid position x of the cell
+     * @param y The grid position y of the cell
+     * @param color The new colour of the cell
+     */
+    public void setCell(int x, int y, Color color) {
+        pixels[y * maze.getWidth() + x] = color.getRGB();
+        for (int level = 1; level < overviews.size(); level++) {
+            average(overviews.get(level - 1), overviews.get(level), x >> level, y >> level);
+        }
+        if (zoom >= 0) {
+            repaint(x << zoom, y << zoom, 1 << zoom, 1 << zoom);
+        } else {
+            repaint(x >> -zoom, y >> -zoom, 1, 1);
+        }
+    }
+
+    /**
+     * Get the colour a cell is painted.
+     *
+     * @param x The grid position x of the cell
+     * @param y The grid position y of the cell
+     * @return the colour of the cell
+     */
+    public Color getCell(int x, int y) {
+        return new Color(pixels[y * maze.getWidth() + x]);
+    }
+
+    /**
+     * Get the grid position x of the cell under a point of the component.
+     *
+     * @param point A point within the component
+     * @return the grid position x, or -1 if outside of the maze
+     */
+    public int cellX(Point point) {
+        int x = zoom >= 0 ? point.x >> zoom : point.x << -zoom;
+        return point.x < 0 || x >= maze.getWidth() ? -1 : x;
+    }
+
+    /**
+     * Get the grid position y of the cell under a point of the component.
+     *
+     * @param point A point within the component
+     * @return the grid position y, or -1 if outside of the maze
+     */
+    public int cellY(Point point) {
+        int y = zoom >= 0 ? point.y >> zoom : point.y << -zoom;
+        return point.y < 0 || y >= maze.getDepth() ? -1 : y;
+    }
+
+    /**
+     * Get the zoom of the view.
+     *
+     * @return the zoom, as a power of two pixels per cell
+     */
+    public int getZoom() {
+        return zoom;
+    }
+
+    /**
+     * Get the smallest zoom worth using, at which the whole maze fits in
+     * roughly a screen's width.
+     *
+     * @return the smallest zoom
+     */
+    public int getMinZoom() {
+        int min = 0;
+        while ((Math.max(maze.getWidth(), maze.getDepth()) >> -min) > 512) {
+            min--;
+        }
+        return min;
+    }
+
+    /**
+     * Change the zoom of the view, resizing it to match.
+     *
+     * @param zoom The new zoom, as a power of two pixels per cell
+     */
+    public void setZoom(int zoom) {
+        this.zoom = Math.max(getMinZoom(), Math.min(MAX_ZOOM, zoom));
+        updateSize();
+        revalidate();
+        repaint();
+    }
+
+    /**
+     * Paint the cells that fall within the clip, from the maze image when
+     * zoomed in and from the overview for the zoom when zoomed out.
+     */
+    @Override
+    protected void paintComponent(Graphics g) {
+        Rectangle clip = g.getClipBounds();
+        if (clip == null) {
+            clip = new Rectangle(0, 0, getWidth(), getHeight());
+        }
+        g.setColor(Color.BLACK);
+        g.fillRect(clip.x, clip.y, clip.width, clip.height);
+        if (zoom < 0) {
+            BufferedImage overview = overview(-zoom);
+            int toX = Math.min(overview.getWidth(), clip.x + clip.width);
+            int toY = Math.min(overview.getHeight(), clip.y + clip.height);
+            if (clip.x < toX && clip.y < toY) {
+                g.drawImage(overview, clip.x, clip.y, toX, toY, clip.x, clip.y, toX, toY, null);
+            }
+            return;
+        }
+        int fromX = Math.max(0, clip.x >> zoom);
+        int fromY = Math.max(0, clip.y >> zoom);
+        int toX = Math.min(maze.getWidth(), (clip.x + clip.width + (1 << zoom) - 1) >> zoom);
+        int toY = Math.min(maze.getDepth(), (clip.y + clip.height + (1 << zoom) - 1) >> zoom);
+        if (fromX < toX && fromY < toY) {
+            g.drawImage(image, fromX << zoom, fromY << zoom, toX << zoom, toY << zoom,
+                    fromX, fromY, toX, toY, null);
+        }
+    }
+
+    /**
+     * Get the overview for a level, building it and any levels above it that
+     * have not yet been built.
+     *
+     * @param level The level, where each pixel covers 2^level cells square
+     * @return the overview image
+     */
+    private BufferedImage overview(int level) {
+        while (overviews.size() <= level) {
+            BufferedImage above = overviews.get(overviews.size() - 1);
+            BufferedImage below = new BufferedImage((above.getWidth() + 1) / 2, (above.getHeight() + 1) / 2,
+                    BufferedImage.TYPE_INT_RGB);
+            for (int y = 0; y < below.getHeight(); y++) {
+                for (int x = 0; x < below.getWidth(); x++) {
+                    average(above, below, x, y);
+                }
+            }
+            overviews.add(below);
+        }
+        return overviews.get(level);
+    }
+
+    /**
+     * Set a pixel of an overview to the average colour of the pixels it
+     * covers in the level above.
+     */
+    private static void average(BufferedImage above, BufferedImage below, int x, int y) {
+        int[] from = ((DataBufferInt) above.getRaster().getDataBuffer()).getData();
+        int[] to = ((DataBufferInt) below.getRaster().getDataBuffer()).getData();
+        int red = 0, green = 0, blue = 0, count = 0;
+        for (int dy = 0; dy < 2; dy++) {
+            int sy = 2 * y + dy;
+            for (int dx = 0; dx < 2 && sy < above.getHeight(); dx++) {
+                int sx = 2 * x + dx;
+                if (sx < above.getWidth()) {
+                    int rgb = from[sy * above.getWidth() + sx];
+                    red += (rgb >> 16) & 0xFF;
+                    green += (rgb >> 8) & 0xFF;
+                    blue += rgb & 0xFF;
+                    count++;
+                }
+            }
+        }
+        to[y * below.getWidth() + x] = (red / count) << 16 | (green / count) << 8 | blue / count;
+    }
+
+    private void updateSize() {
+        Dimension size;
+        if (zoom >= 0) {
+            size = new Dimension(maze.getWidth() << zoom, maze.getDepth() << zoom);
+        } else {
+            int scale = 1 << -zoom;
+            size = new Dimension((maze.getWidth() + scale - 1) / scale, (maze.getDepth() + scale - 1) / scale);
+        }
+        setPreferredSize(size);
+        setMinimumSize(size);
+        setMaximumSize(size);
+    }
+}
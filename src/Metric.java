@@ -0,0 +1,151 @@
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counters and timers for where the program spends its time. Each metric
+ * keeps how many times it was recorded, the total recorded and the largest
+ * single value, and may be recorded from any number of threads at once.
+ *
+ * Recording is off by default, and costs a single branch when off. Turn it on
+ * with {@link #setEnabled} or by starting the program with
+ * -Dmazemouse.metrics=true; the switch is seen at once by every thread. Recording happens once per operation, never per
+ * cell or per step, apart from the time spent in listeners, which is only
+ * measured while listeners are attached.
+ *
+ * @author Michael Quested
+ * @version 1.1
+ * @date 2026/10/18
+ */
+public enum Metric {
+
+    GENERATION("Generation", "ns"),
+    CELLS_VISITED("Cells visited by generators", "cells"),
+    RESET("Reset", "ns"),
+    SOLVE("Solve", "ns"),
+    MOVES("Moves made by mice", "moves"),
+    LISTENER("Time in listeners", "ns"),
+    RENDER("Render", "ns"),
+    REPAIR("Route repair per wall change", "ns"),
+    TILES("Tile graph build", "ns"),
+    CACHE_HIT("Path cache hit", "ns"),
+    CACHE_MISS("Path cache miss", "ns"),
+    CACHE_EVICTIONS("Routes evicted from path cache", "routes");
+
+    private static volatile boolean enabled = Boolean.getBoolean("mazemouse.metrics");
+    private final String label, unit;
+    private final LongAdder count = new LongAdder();
+    private final LongAdder total = new LongAdder();
+    private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+    private Metric(String label, String unit) {
+        this.label = label;
+        this.unit = unit;
+    }
+
+    /**
+     * Turn recording of every metric on or off.
+     *
+     * @param on true to record, false not to
+     */
+    public static void setEnabled(boolean on) {
+        enabled = on;
+    }
+
+    /**
+     * Check if metrics are being recorded.
+     *
+     * @return true if recording, false if not
+     */
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Get the time to pass to {@link #recordSince} when an operation starts.
+     *
+     * @return the current time in nanoseconds, or 0 if not recording
+     */
+    public static long start() {
+        return enabled ? System.nanoTime() : 0;
+    }
+
+    /**
+     * Record the time taken since an operation started.
+     *
+     * @param start The time returned by {@link #start}
+     */
+    public void recordSince(long start) {
+        if (enabled) {
+            record(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Record a value, such as a count or a duration in nanoseconds.
+     *
+     * @param value The value to record
+     */
+    public void record(long value) {
+        if (enabled) {
+            count.increment();
+            total.add(value);
+            max.accumulate(value);
+        }
+    }
+
+    /**
+     * Get how many values have been recorded.
+     *
+     * @return the number of values recorded
+     */
+    public long getCount() {
+        return count.sum();
+    }
+
+    /**
+     * Get the sum of the values recorded.
+     *
+     * @return the total recorded
+     */
+    public long getTotal() {
+        return total.sum();
+    }
+
+    /**
+     * Get the largest single value recorded.
+     *
+     * @return the largest value recorded
+     */
+    public long getMax() {
+        return max.get();
+    }
+
+    /**
+     * Clear every metric back to zero.
+     */
+    public static void clearAll() {
+        for (Metric metric : values()) {
+            metric.count.reset();
+            metric.total.reset();
+            metric.max.reset();
+        }
+    }
+
+    /**
+     * Describe every metric that has been recorded, one per line.
+     *
+     * @return a report of the metrics
+     */
+    public static String report() {
+        StringBuilder report = new StringBuilder();
+        for (Metric metric : values()) {
+            long n = metric.getCount();
+            if (n > 0) {
+                report.append(String.format("%-28s %10d x %14d %-5s (mean %d, max %d)%n",
+                        metric.label, n, metric.getTotal(), metric.unit,
+                        metric.getTotal() / n, metric.getMax()));
+            }
+        }
+        return report.toString();
+    }
+}
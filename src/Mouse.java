@@ -2,15 +2,27 @@
 /**
  * Class that is responsible for the creation and behaviour of a mouse.
  *
+ * Every run has a step budget, so that a mouse going round a loop it cannot
+ * leave does not hold its thread forever. Unless set otherwise the budget is
+ * STEPS_PER_CELL moves for every cell of the maze, which is well beyond what
+ * any mouse that never repeats a state needs. A mouse that runs out of steps,
+ * or finds for itself that it cannot reach the cheese, gives up, and its run
+ * ends without the cheese.
+ *
  * @author Michael Quested
  * @version 1.0
  * @date 2012/12/18
  */
 public abstract class Mouse {
 
+    public final static long STEPS_PER_CELL = 16;
     protected int currentPosX, currentPosY;
     protected boolean foundCheese;
     protected Maze maze;
+    private long steps;
+    private long stepBudget;
+    private boolean gaveUp;
+    private IntList path;
 
     /**
      * Constructor for class Mouse.
@@ -19,6 +31,8 @@ public abstract class Mouse {
      */
     public Mouse(Maze maze) {
         this.maze = maze;
+        long cells = (long) maze.getWidth() * maze.getDepth();
+        stepBudget = cells > Long.MAX_VALUE / STEPS_PER_CELL ? Long.MAX_VALUE : cells * STEPS_PER_CELL;
     }
 
     /**
@@ -30,13 +44,199 @@ public abstract class Mouse {
      * Begin the mouse's search for the cheese.
      */
     public void go() throws InterruptedException {
-        while (!foundCheese && !maze.isReset()) {
-            maze.restoreCell(currentPosX, currentPosY);
+        search(true);
+    }
+
+    /**
+     * Search for the cheese without notifying the maze's listeners, so that
+     * many mice can run at once on the same maze. Each mouse keeps its own
+     * position, step count and path.
+     */
+    public void run() {
+        try {
+            search(false);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Search for the cheese, recording the run for the metrics and for
+     * Flight Recorder.
+     *
+     * @param observed true to show each move to the maze's listeners
+     */
+    private void search(boolean observed) throws InterruptedException {
+        SolveEvent event = new SolveEvent();
+        event.begin();
+        long start = Metric.start();
+        long startSteps = steps;
+        try {
+            walk(observed);
+        } finally {
+            Metric.SOLVE.recordSince(start);
+            Metric.MOVES.record(steps - startSteps);
+            if (event.shouldCommit()) {
+                event.mouse = getClass().getSimpleName();
+                event.moves = steps - startSteps;
+                event.foundCheese = foundCheese;
+                event.gaveUp = gaveUp;
+                event.observed = observed;
+                event.commit();
+            }
+        }
+    }
+
+    /**
+     * Move until the cheese is found, the maze is reset or the mouse gives
+     * up.
+     *
+     * @param observed true to show each move to the maze's listeners
+     */
+    private void walk(boolean observed) throws InterruptedException {
+        if (path != null && path.size() == 0) {
+            path.add(currentPosY * maze.getWidth() + currentPosX);
+        }
+        gaveUp = false;
+        foundCheese = isAtGoal();
+        for (long moves = 0; !foundCheese && !maze.isReset(); moves++) {
+            if (moves == stepBudget) {
+                gaveUp = true;
+                break;
+            }
+            if (observed) {
+                maze.restoreCell(currentPosX, currentPosY);
+            }
             move();          
-            maze.updateMouse(currentPosX, currentPosY);
-            if (maze.cheeseIsFound()) {
+            if (gaveUp) {
+                if (observed) {
+                    maze.updateMouse(currentPosX, currentPosY);
+                }
+                break;
+            }
+            steps++;
+            if (path != null) {
+                path.add(currentPosY * maze.getWidth() + currentPosX);
+            }
+            if (observed) {
+                maze.updateMouse(currentPosX, currentPosY);
+            }
+            if (isAtGoal()) {
                 foundCheese = true;
             }
         }
     }
+
+    /**
+     * Check if the mouse has reached what it is looking for, which unless a
+     * subclass says otherwise is any piece of cheese.
+     *
+     * @return true if the search is over, false if not
+     */
+    protected boolean isAtGoal() {
+        return maze.isCheese(currentPosX, currentPosY);
+    }
+
+    /**
+     * Give up the search from within move(), without moving, when the mouse
+     * can tell that it will never reach the cheese.
+     */
+    protected void giveUp() {
+        gaveUp = true;
+    }
+
+    /**
+     * Check if the mouse gave up its last run, because it ran out of steps
+     * or found it could not reach the cheese.
+     *
+     * @return true if the last run was given up, false if not
+     */
+    public boolean hasGivenUp() {
+        return gaveUp;
+    }
+
+    /**
+     * Set the most moves a single run may make before the mouse gives up.
+     *
+     * @param budget The number of moves, or Long.MAX_VALUE for no limit
+     */
+    public void setStepBudget(long budget) {
+        stepBudget = budget;
+    }
+
+    /**
+     * Get the most moves a single run may make before the mouse gives up.
+     *
+     * @return the step budget
+     */
+    public long getStepBudget() {
+        return stepBudget;
+    }
+
+    /**
+     * Put the mouse down at the specified coordinates.
+     *
+     * @param x The grid position x of the mouse
+     * @param y The grid position y of the mouse
+     */
+    public void setPosition(int x, int y) {
+        currentPosX = x;
+        currentPosY = y;
+    }
+
+    /**
+     * Choose whether the cells the mouse passes through are recorded. Off by
+     * default, as the path of a long search can be large.
+     *
+     * @param record true to record the path, false not to
+     */
+    public void setRecordPath(boolean record) {
+        path = record ? new IntList() : null;
+    }
+
+    /**
+     * Get the cells the mouse has passed through, starting with the cell it
+     * was put down in, each as the packed index y * width + x.
+     *
+     * @return the recorded path, or an empty array if it was not recorded
+     */
+    public int[] getPath() {
+        return path == null ? new int[0] : path.toArray();
+    }
+
+    /**
+     * Get the number of moves the mouse has made.
+     *
+     * @return the number of moves made
+     */
+    public long getSteps() {
+        return steps;
+    }
+
+    /**
+     * Check if the mouse has found the cheese.
+     *
+     * @return true if the cheese has been found, false if not
+     */
+    public boolean hasFoundCheese() {
+        return foundCheese;
+    }
+
+    /**
+     * Get the current grid position x of the mouse.
+     *
+     * @return the grid position x
+     */
+    public int getPosX() {
+        return currentPosX;
+    }
+
+    /**
+     * Get the current grid position y of the mouse.
+     *
+     * @return the grid position y
+     */
+    public int getPosY() {
+        return currentPosY;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,101 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.random.RandomGenerator;
+
+/**
+ * Runs many mice at once on one maze, each as a task on a shared executor.
+ *
+ * The mice only read the maze, so they share it without locks. Everything the
+ * maze holds is written before the tasks are handed to the executor, which
+ * publishes it safely to the threads that run them; the maze must not be
+ * reset or have its cheese moved until the run is over.
+ *
+ * @author Michael Quested
+ * @version 1.1
+ * @date 2026/10/18
+ */
+public class MouseRunner {
+
+    private final Maze maze;
+    private final ExecutorService executor;
+
+    /**
+     * Constructor for class MouseRunner.
+     *
+     * @param maze The maze for the mice to run in, with its cheese set
+     * @param executor The executor to run the mice on
+     */
+    public MouseRunner(Maze maze, ExecutorService executor) {
+        this.maze = maze;
+        this.executor = executor;
+    }
+
+    /**
+     * Put a mouse down at each of the given coordinates and run them all
+     * until each has found the cheese.
+     *
+     * @param startX The grid positions x at which to put the mice down
+     * @param startY The grid positions y at which to put the mice down
+     * @param factory Creates a mouse for the maze
+     * @return the mice, in the order of their starting positions
+     */
+    public List<Mouse> run(int[] startX, int[] startY, Function<Maze, Mouse> factory)
+            throws InterruptedException {
+        return run(startX, startY, (maze, random) -> factory.apply(maze), maze.getSeed());
+    }
+
+    /**
+     * Put a mouse down at each of the given coordinates and run them all
+     * until each has found the cheese, giving each mouse a source of
+     * randomness split off from the seed. The splitting is done in the order
+     * of the starting positions before any mouse runs, so the same seed gives
+     * every mouse the same behaviour however the runs are spread over threads.
+     *
+     * @param startX The grid positions x at which to put the mice down
+     * @param startY The grid positions y at which to put the mice down
+     * @param factory Creates a mouse for the maze from a source of randomness
+     * @param seed The seed to split each mouse's randomness from
+     * @return the mice, in the order of their starting positions
+     */
+    public List<Mouse> run(int[] startX, int[] startY, BiFunction<Maze, RandomGenerator, Mouse> factory,
+            long seed) throws InterruptedException {
+        if (startX.length != startY.length) {
+            throw new IllegalArgumentException("Got " + startX.length + " x and " + startY.length + " y positions");
+        }
+        SplittableRandom seeds = new SplittableRandom(seed);
+        List<Callable<Mouse>> tasks = new ArrayList<>(startX.length);
+        for (int i = 0; i < startX.length; i++) {
+            final int x = startX[i];
+            final int y = startY[i];
+            final SplittableRandom random = seeds.split();
+            tasks.add(new Callable<Mouse>() {
+                @Override
+                public Mouse call() {
+                    Mouse mouse = factory.apply(maze, random);
+                    mouse.setPosition(x, y);
+                    mouse.run();
+                    return mouse;
+                }
+            });
+        }
+        List<Mouse> mice = new ArrayList<>(startX.length);
+        for (Future<Mouse> future : executor.invokeAll(tasks)) {
+            try {
+                mice.add(future.get());
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof RuntimeException) {
+                    throw (RuntimeException) e.getCause();
+                }
+                throw new IllegalStateException(e.getCause());
+            }
+        }
+        return mice;
+    }
+}
@@ -0,0 +1,320 @@
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A bounded cache of routes already found through mazes, so that the same
+ * question asked again is answered without searching. A route is kept by the
+ * fingerprint of the walls it was found in and the cells it runs between, so
+ * one cache can be shared by any number of mazes and mice, and a maze whose
+ * walls change simply stops matching its old routes, which are left to age
+ * out.
+ *
+ * A route is stored as its first cell and then two bits a move, north, east,
+ * south or west, packed 32 to a long, rather than an int a cell: sixteen
+ * times smaller. A route from a to b is also a route from b to a, so a
+ * question asked the other way round is answered by reading the route
+ * backwards.
+ *
+ * The cache is split into segments by the hash of the key, each one a map in
+ * order of last use, locked on its own, holding an equal share of the routes
+ * and dropping its least recently used route when full. Threads asking about
+ * different routes rarely wait for each other, at the cost of the route
+ * dropped being the oldest in its segment rather than in the whole cache.
+ *
+ * A cache does not check that a route is a shortest one, or even a way
+ * through the walls; it gives back whatever route was put in for the
+ * question, so share one only among mice content with each other's routes.
+ *
+ * @author Michael Quested
+ * @version 1.1
+ * @date 2026/10/18
+ */
+public class PathCache {
+
+    private final static int SEGMENTS = 16;
+    private final Segment[] segments;
+    private final int capacity;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * Constructor for class PathCache.
+     *
+     * @param capacity The most routes to hold at once
+     */
+    public PathCache(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("A path cache must hold at least one route, not " + capacity);
+        }
+        this.capacity = capacity;
+        int count = Math.min(SEGMENTS, Integer.highestOneBit(capacity));
+        segments = new Segment[count];
+        for (int i = 0; i < count; i++) {
+            segments[i] = new Segment(capacity / count + (i < capacity % count ? 1 : 0));
+        }
+    }
+
+    /**
+     * Look up the route between two cells of a maze as its walls are now.
+     *
+     * @param maze The maze the route runs through
+     * @param start The packed index y * width + x of the cell to start from
+     * @param goal The packed index of the cell to reach
+     * @return the cells of the route from start to goal inclusive, or null if
+     * no route between them is held
+     */
+    public int[] get(Maze maze, int start, int goal) {
+        return get(maze.getFingerprint(), maze.getWidth(), start, goal);
+    }
+
+    /**
+     * Look up the route between two cells of the maze with the fingerprint
+     * given, trying the route the other way round if there is none this way.
+     *
+     * @param fingerprint The fingerprint of the walls of the maze
+     * @param width The width of the maze
+     * @param start The packed index y * width + x of the cell to start from
+     * @param goal The packed index of the cell to reach
+     * @return the cells of the route from start to goal inclusive, or null if
+     * no route between them is held
+     */
+    public int[] get(long fingerprint, int width, int start, int goal) {
+        long began = Metric.start();
+        Route route = find(new Key(fingerprint, start, goal));
+        boolean reversed = false;
+        if (route == null && start != goal) {
+            route = find(new Key(fingerprint, goal, start));
+            reversed = true;
+        }
+        if (route == null || route.width != width) {
+            misses.increment();
+            Metric.CACHE_MISS.recordSince(began);
+            return null;
+        }
+        hits.increment();
+        int[] cells = route.unpack();
+        if (reversed) {
+            for (int i = 0, j = cells.length - 1; i < j; i++, j--) {
+                int cell = cells[i];
+                cells[i] = cells[j];
+                cells[j] = cell;
+            }
+        }
+        Metric.CACHE_HIT.recordSince(began);
+        return cells;
+    }
+
+    /**
+     * Keep the route between two cells of a maze as its walls are now.
+     *
+     * @param maze The maze the route runs through
+     * @param path The cells of the route from start to goal inclusive
+     */
+    public void put(Maze maze, int[] path) {
+        put(maze.getFingerprint(), maze.getWidth(), path);
+    }
+
+    /**
+     * Keep the route between two cells of the maze with the fingerprint
+     * given, dropping the least recently used route of its segment if that
+     * is full.
+     *
+     * @param fingerprint The fingerprint of the walls of the maze
+     * @param width The width of the maze
+     * @param path The cells of the route from start to goal inclusive, each
+     * next to the one before
+     */
+    public void put(long fingerprint, int width, int[] path) {
+        Key key = new Key(fingerprint, path[0], path[path.length - 1]);
+        Route route = new Route(width, path);
+        Segment segment = segmentOf(key);
+        synchronized (segment) {
+            segment.put(key, route);
+        }
+    }
+
+    private Route find(Key key) {
+        Segment segment = segmentOf(key);
+        synchronized (segment) {
+            return segment.get(key);
+        }
+    }
+
+    private Segment segmentOf(Key key) {
+        int hash = key.hashCode();
+        return segments[(hash ^ hash >>> 16) & (segments.length - 1)];
+    }
+
+    /**
+     * Drop every route held. The counts of hits, misses and evictions are
+     * kept.
+     */
+    public void clear() {
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                segment.clear();
+            }
+        }
+    }
+
+    /**
+     * Get the number of routes held.
+     *
+     * @return the number of routes
+     */
+    public int size() {
+        int size = 0;
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                size += segment.size();
+            }
+        }
+        return size;
+    }
+
+    /**
+     * Get the most routes the cache holds at once.
+     *
+     * @return the capacity
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Get the number of lookups that found a route.
+     *
+     * @return the number of hits
+     */
+    public long getHits() {
+        return hits.sum();
+    }
+
+    /**
+     * Get the number of lookups that found no route.
+     *
+     * @return the number of misses
+     */
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    /**
+     * Get the number of routes dropped to make room for others.
+     *
+     * @return the number of routes evicted
+     */
+    public long getEvictions() {
+        return evictions.sum();
+    }
+
+    /**
+     * One share of the routes, in order of last use, dropping the least
+     * recently used when over its capacity. Used only while locked.
+     */
+    private class Segment extends LinkedHashMap<Key, Route> {
+
+        private final static long serialVersionUID = 1L;
+        private final int capacity;
+
+        private Segment(int capacity) {
+            super(Math.min(capacity, 1024) * 2, 0.75f, true);
+            this.capacity = capacity;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Key, Route> eldest) {
+            if (size() > capacity) {
+                evictions.increment();
+                Metric.CACHE_EVICTIONS.record(1);
+                return true;
+            }
+            return false;
+        }
+    }
+
+    /**
+     * The question a route answers: the walls it was found in and the cells
+     * it runs between.
+     */
+    private static final class Key {
+
+        private final long fingerprint;
+        private final int start, goal;
+
+        private Key(long fingerprint, int start, int goal) {
+            this.fingerprint = fingerprint;
+            this.start = start;
+            this.goal = goal;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (!(other instanceof Key)) {
+                return false;
+            }
+            Key key = (Key) other;
+            return fingerprint == key.fingerprint && start == key.start && goal == key.goal;
+        }
+
+        @Override
+        public int hashCode() {
+            return Long.hashCode(fingerprint) * 31 * 31 + start * 31 + goal;
+        }
+    }
+
+    /**
+     * A route packed as its first cell and two bits a move.
+     */
+    private static final class Route {
+
+        private final int width, start, length;
+        private final long[] moves;
+
+        /**
+         * Pack the cells of a route.
+         *
+         * @throws IllegalArgumentException if two cells in a row are not next
+         * to each other
+         */
+        private Route(int width, int[] path) {
+            this.width = width;
+            start = path[0];
+            length = path.length - 1;
+            moves = new long[(length + 31) >>> 5];
+            for (int i = 0; i < length; i++) {
+                int step = path[i + 1] - path[i];
+                long move;
+                if (step == -width) {
+                    move = 0;
+                } else if (step == 1) {
+                    move = 1;
+                } else if (step == width) {
+                    move = 2;
+                } else if (step == -1) {
+                    move = 3;
+                } else {
+                    throw new IllegalArgumentException("Cells " + path[i] + " and " + path[i + 1] + " of the route are not next to each other");
+                }
+                moves[i >>> 5] |= move << ((i & 31) << 1);
+            }
+        }
+
+        /**
+         * Unpack the cells of the route, from the first to the last.
+         */
+        private int[] unpack() {
+            int[] offsets = {-width, 1, width, -1};
+            int[] path = new int[length + 1];
+            int cell = start;
+            path[0] = cell;
+            for (int i = 0; i < length; i++) {
+                cell += offsets[(int) (moves[i >>> 5] >>> ((i & 31) << 1)) & 3];
+                path[i + 1] = cell;
+            }
+            return path;
+        }
+    }
+}
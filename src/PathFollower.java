@@ -0,0 +1,171 @@
+import java.util.Arrays;
+
+/**
+ * A mouse that plans the whole route to the cheese before it takes its first
+ * step, then follows it one cell per move. Subclasses supply the search that
+ * plans the route.
+ *
+ * Searches work on packed cell indices, y * width + x, with their queues,
+ * heaps and parent pointers held in flat int arrays. The border of a maze is
+ * always wall, so the four neighbours of a passage cell are always in bounds.
+ *
+ * @author Michael Quested
+ * @version 1.1
+ * @date 2026/10/18
+ */
+public abstract class PathFollower extends Mouse {
+
+    private int[] route;
+    private int next;
+    protected long nodesExpanded;
+    private long searchNanos;
+
+    /**
+     * Constructor for class PathFollower.
+     *
+     * @param maze The maze that the mouse will be navigating.
+     */
+    public PathFollower(Maze maze) {
+        super(maze);
+    }
+
+    /**
+     * Find a route through the maze.
+     *
+     * @param start The packed index of the cell to start from
+     * @param goal The packed index of the cell to reach
+     * @return the cells of the route from start to goal inclusive, or null if
+     * the goal cannot be reached
+     */
+    protected abstract int[] findPath(int start, int goal);
+
+    /**
+     * Take the next step along the route, planning the route first if this is
+     * the first step, or give up if the cheese cannot be reached. A run
+     * already given up is not planned again.
+     */
+    @Override
+    public void move() {
+        if (route == null) {
+            if (!hasGivenUp()) {
+                plan();
+            }
+            if (route == null) {
+                giveUp();
+                return;
+            }
+        }
+        if (next < route.length) {
+            int cell = route[next++];
+            currentPosX = cell % maze.getWidth();
+            currentPosY = cell / maze.getWidth();
+        }
+    }
+
+    /**
+     * Plan the route from the current position to the cheese, timing the
+     * search. If the maze has a {@link PathCache} and the mouse's routes can
+     * be cached, a route already found between the same cells of the same
+     * walls is taken from it without searching, and a route searched for is
+     * put in it, unless the walls changed while it was found. If the mouse
+     * is not on a passage or the cheese cannot be reached, the mouse gives up
+     * and no route is planned.
+     */
+    public void plan() {
+        int width = maze.getWidth();
+        int start = currentPosY * width + currentPosX;
+        int goal = maze.getCheeseY() * width + maze.getCheeseX();
+        nodesExpanded = 0;
+        if (currentPosX < 0 || currentPosY < 0 || currentPosX >= width || currentPosY >= maze.getDepth()
+                || !maze.isPassageAt(start)) {
+            route = null;
+            giveUp();
+            return;
+        }
+        long began = System.nanoTime();
+        PathCache cache = isCacheable() ? maze.getPathCache() : null;
+        long fingerprint = cache == null ? 0 : maze.getFingerprint();
+        route = cache == null ? null : cache.get(fingerprint, width, start, goal);
+        if (route == null) {
+            route = findPath(start, goal);
+            if (cache != null && route != null && maze.getFingerprint() == fingerprint) {
+                cache.put(fingerprint, width, route);
+            }
+        }
+        searchNanos = System.nanoTime() - began;
+        if (route == null) {
+            giveUp();
+            return;
+        }
+        next = 1;
+    }
+
+    /**
+     * Check if the routes this mouse finds can be shared through the maze's
+     * {@link PathCache}: only a shortest route from the start to the goal
+     * plan() asks for, the first piece of cheese, can be.
+     *
+     * @return true to use the cache, false to always search
+     */
+    protected boolean isCacheable() {
+        return true;
+    }
+
+    /**
+     * Get the number of cells the search expanded.
+     *
+     * @return the number of cells expanded
+     */
+    public long getNodesExpanded() {
+        return nodesExpanded;
+    }
+
+    /**
+     * Get the length of the planned route in moves.
+     *
+     * @return the route length, or -1 if no route is planned yet
+     */
+    public int getPathLength() {
+        return route == null ? -1 : route.length - 1;
+    }
+
+    /**
+     * Get the wall-clock time the search took.
+     *
+     * @return the search time in nanoseconds
+     */
+    public long getSearchNanos() {
+        return searchNanos;
+    }
+
+    /**
+     * Walk parent pointers back from the goal to the start.
+     *
+     * @param parent The parent of each reached cell
+     * @param start The packed index of the start cell
+     * @param goal The packed index of the goal cell
+     * @return the cells from start to goal inclusive
+     */
+    protected static int[] tracePath(int[] parent, int start, int goal) {
+        int length = 1;
+        for (int cell = goal; cell != start; cell = parent[cell]) {
+            length++;
+        }
+        int[] path = new int[length];
+        for (int cell = goal, i = length - 1; i >= 0; cell = parent[cell], i--) {
+            path[i] = cell;
+        }
+        return path;
+    }
+
+    /**
+     * Create an array of parent pointers with every cell unreached.
+     *
+     * @return the parent array, filled with -1
+     */
+    protected int[] newParents() {
+        int[] parent = new int[maze.getWidth() * maze.getDepth()];
+        Arrays.fill(parent, -1);
+        return parent;
+    }
+}
@@ -0,0 +1,54 @@
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * A row sink that writes a maze out as a binary PBM image, one pixel per cell
+ * with walls in black. The image is written as the rows arrive, so a maze of
+ * any size can be saved without holding it in memory.
+ *
+ * @author Michael Quested
+ * @version 1.1
+ * @date 2026/10/18
+ */
+public class PbmRowSink implements RowSink {
+
+    private final OutputStream out;
+    private final int width;
+    private final byte[] line;
+
+    /**
+     * Constructor for class PbmRowSink. Writes the image header straight away.
+     * The size is rounded up to odd numbers the same way the generators round
+     * it, so the header matches the rows they send.
+     *
+     * @param out The stream to write the image to
+     * @param width The grid width of the maze, rounded up to an odd number
+     * @param depth The grid depth of the maze, rounded up to an odd number
+     */
+    public PbmRowSink(OutputStream out, int width, long depth) throws IOException {
+        this.out = out;
+        this.width = width % 2 == 0 ? width + 1 : width;
+        line = new byte[(this.width + 7) / 8];
+        out.write(("P4\n" + this.width + " " + (depth % 2 == 0 ? depth + 1 : depth) + "\n").getBytes("US-ASCII"));
+    }
+
+    /**
+     * Write a row of the maze as a line of the image. PBM packs the pixels
+     * most significant bit first and uses 1 for black, so each byte of the
+     * row is bit-reversed and inverted. The padding past the width is always
+     * clear in the row, so it comes out as wall.
+     *
+     * @throws IllegalArgumentException if the row is not as wide as the image
+     */
+    @Override
+    public void acceptRow(long y, long[] row, int width) throws IOException {
+        if (width != this.width) {
+            throw new IllegalArgumentException("Row " + y + " is " + width + " cells wide, but the image is " + this.width);
+        }
+        for (int i = 0; i < line.length; i++) {
+            int passages = (int) (row[i >>> 3] >>> ((i & 7) * 8)) & 0xFF;
+            line[i] = (byte) ~(Integer.reverse(passages) >>> 24);
+        }
+        out.write(line);
+    }
+}
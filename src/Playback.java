@@ -0,0 +1,182 @@
+import java.awt.Color;
+import java.awt.event.ActionEvent;
+import java.awt.event.ActionListener;
+import javax.swing.Timer;
+
+/**
+ * Replays the trace of a mouse's run onto a maze view. The mouse runs at full
+ * speed first, recording every cell it passes through, and the trace is then
+ * played back by a Swing timer on the event dispatch thread, so the view is
+ * only ever touched from that thread.
+ *
+ * Each frame of the timer works out how far through the trace the playback
+ * should be by now at the current speed, and moves the mouse straight there:
+ * however many moves fall between two frames, only the cell the mouse left
+ * and the cell it is now in are painted. The playback can be paused, moved to
+ * any point of the trace or skipped to its end.
+ *
+ * @author Michael Quested
+ * @version 1.1
+ * @date 2026/10/18
+ */
+public class Playback {
+
+    public final static int FRAME_DELAY = 16;
+    public final static double DEFAULT_SPEED = 20;
+    private final MazeView view;
+    private final int[] trace;
+    private final int width;
+    private final Timer timer;
+    private double speed = DEFAULT_SPEED;
+    private int position = -1;
+    private long startNanos;
+    private int startPosition;
+    private Runnable onFrame;
+
+    /**
+     * Constructor for class Playback.
+     *
+     * @param view The view to play the trace onto
+     * @param trace The cells the mouse passed through, each as the packed
+     * index y * width + x, starting with the cell it was put down in
+     * @param width The width of the maze the trace was recorded in
+     */
+    public Playback(MazeView view, int[] trace, int width) {
+        this.view = view;
+        this.trace = trace;
+        this.width = width;
+        timer = new Timer(FRAME_DELAY, new ActionListener() {
+            @Override
+            public void actionPerformed(ActionEvent e) {
+                frame();
+            }
+        });
+        timer.setCoalesce(true);
+    }
+
+    /**
+     * Start playing from the current point of the trace, or from its start
+     * if it has not been played yet.
+     */
+    public void play() {
+        if (position < 0) {
+            seek(0);
+        }
+        startNanos = System.nanoTime();
+        startPosition = position;
+        timer.start();
+    }
+
+    /**
+     * Stop playing, leaving the mouse where it is.
+     */
+    public void pause() {
+        timer.stop();
+    }
+
+    /**
+     * Check if the trace is being played.
+     *
+     * @return true if playing, false if paused or finished
+     */
+    public boolean isPlaying() {
+        return timer.isRunning();
+    }
+
+    /**
+     * Set how fast the trace is played.
+     *
+     * @param movesPerSecond The number of moves played each second
+     */
+    public void setSpeed(double movesPerSecond) {
+        speed = movesPerSecond;
+        startNanos = System.nanoTime();
+        startPosition = Math.max(0, position);
+    }
+
+    /**
+     * Get how fast the trace is played.
+     *
+     * @return the number of moves played each second
+     */
+    public double getSpeed() {
+        return speed;
+    }
+
+    /**
+     * Move the mouse straight to a point of the trace, painting only the
+     * cell it leaves and the cell it arrives in.
+     *
+     * @param move The number of moves into the trace
+     */
+    public void seek(int move) {
+        moveTo(Math.max(0, Math.min(trace.length - 1, move)));
+        startNanos = System.nanoTime();
+        startPosition = position;
+    }
+
+    /**
+     * Move the mouse to a point of the trace, without changing the time the
+     * playback is measured from.
+     */
+    private void moveTo(int move) {
+        if (move != position) {
+            if (position >= 0) {
+                int cell = trace[position];
+                view.setCell(cell % width, cell / width, Color.WHITE);
+            }
+            int cell = trace[move];
+            view.setCell(cell % width, cell / width, Color.BLUE);
+            position = move;
+        }
+        if (onFrame != null) {
+            onFrame.run();
+        }
+    }
+
+    /**
+     * Move the mouse to the end of the trace and stop playing.
+     */
+    public void skip() {
+        pause();
+        seek(trace.length - 1);
+    }
+
+    /**
+     * Get how far through the trace the mouse has been played.
+     *
+     * @return the number of moves into the trace
+     */
+    public int getPosition() {
+        return Math.max(0, position);
+    }
+
+    /**
+     * Get the number of moves in the trace.
+     *
+     * @return the number of moves
+     */
+    public int getMoves() {
+        return Math.max(0, trace.length - 1);
+    }
+
+    /**
+     * Set something to run after every frame, such as updating a scroll bar.
+     *
+     * @param onFrame The action to run, or null for none
+     */
+    public void setOnFrame(Runnable onFrame) {
+        this.onFrame = onFrame;
+    }
+
+    /**
+     * Play every move due since the last frame as a single change.
+     */
+    private void frame() {
+        long due = (long) ((System.nanoTime() - startNanos) * speed / 1e9);
+        moveTo((int) Math.min(trace.length - 1, startPosition + due));
+        if (position == trace.length - 1) {
+            timer.stop();
+        }
+    }
+}
@@ -0,0 +1,95 @@
+import java.util.random.RandomGenerator;
+
+/**
+ * Generates maze coordinates using randomised Prim's algorithm.
+ *
+ * The maze grows out from a random cell. The cells next to it but not yet in
+ * it are the frontier, kept in an int array of packed cell indices; each step
+ * takes a random frontier cell out by swapping the last into its place, joins
+ * it to a random neighbour already in the maze, and adds its own new
+ * neighbours to the frontier. A cell is in the maze once it is a passage, and
+ * marked visited once it has been put on the frontier.
+ *
+ * @author Michael Quested
+ * @version 1.1
+ * @date 2026/10/18
+ */
+public class PrimGenerator implements Generator {
+
+    private final int[] neighbours = new int[4];
+    private int[] frontier = new int[0];
+
+    /**
+     * Grow the maze from a random cell until the frontier is empty.
+     */
+    @Override
+    public void generate(Maze maze, RandomGenerator random) {
+        int width = maze.getWidth();
+        int depth = maze.getDepth();
+        int cells = (width / 2) * (depth / 2);
+        if (frontier.length < cells) {
+            frontier = new int[cells];
+        }
+        maze.resetVisited();
+        int x = 2 * random.nextInt(width / 2) + 1;
+        int y = 2 * random.nextInt(depth / 2) + 1;
+        maze.setPassage(x, y, true);
+        maze.setVisited(x, y);
+        int size = addFrontier(maze, x, y, 0);
+
+        while (size > 0) {
+            int pick = random.nextInt(size);
+            int cell = frontier[pick];
+            frontier[pick] = frontier[--size];
+            x = cell % width;
+            y = cell / width;
+
+            int count = 0;
+            if (y > 2 && maze.isCarved(x, y - 2)) {
+                neighbours[count++] = cell - 2 * width;
+            }
+            if (x < width - 2 && maze.isCarved(x + 2, y)) {
+                neighbours[count++] = cell + 2;
+            }
+            if (y < depth - 2 && maze.isCarved(x, y + 2)) {
+                neighbours[count++] = cell + 2 * width;
+            }
+            if (x > 2 && maze.isCarved(x - 2, y)) {
+                neighbours[count++] = cell - 2;
+            }
+            int wall = (cell + neighbours[count == 1 ? 0 : random.nextInt(count)]) >>> 1;
+            maze.setPassage(wall % width, wall / width, true);
+            maze.setPassage(x, y, true);
+            size = addFrontier(maze, x, y, size);
+        }
+        maze.releaseVisited();
+        maze.countVisited(cells);
+    }
+
+    /**
+     * Put the neighbours of a cell that have not been seen yet on the
+     * frontier.
+     *
+     * @return the new size of the frontier
+     */
+    private int addFrontier(Maze maze, int x, int y, int size) {
+        int width = maze.getWidth();
+        if (y > 2 && !maze.isVisited(x, y - 2)) {
+            maze.setVisited(x, y - 2);
+            frontier[size++] = (y - 2) * width + x;
+        }
+        if (x < width - 2 && !maze.isVisited(x + 2, y)) {
+            maze.setVisited(x + 2, y);
+            frontier[size++] = y * width + x + 2;
+        }
+        if (y < maze.getDepth() - 2 && !maze.isVisited(x, y + 2)) {
+            maze.setVisited(x, y + 2);
+            frontier[size++] = (y + 2) * width + x;
+        }
+        if (x > 2 && !maze.isVisited(x - 2, y)) {
+            maze.setVisited(x - 2, y);
+            frontier[size++] = y * width + x - 2;
+        }
+        return size;
+    }
+}
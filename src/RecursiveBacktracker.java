@@ -1,14 +1,9 @@
-
-import java.util.Arrays;
-import java.util.Collections;
-import java.util.Random;
-
 /**
- * Generates maze coordinates using the recursive backtracker algorithm, and
- * stores them in a 2-D boolean array.
+ * A maze generated using the recursive backtracker algorithm, carved by a
+ * {@link BacktrackerGenerator} into the bit-packed grid of the maze.
  *
  * @author Michael Quested
- * @version 1.0
+ * @version 1.1
  * @date 2012/12/16
  */
 public class RecursiveBacktracker extends Maze {
@@ -20,98 +15,18 @@ public class RecursiveBacktracker extends Maze {
      * @param depth The grid depth of the maze
      */
     public RecursiveBacktracker(int width, int depth) {
-        super(width, depth);
+        super(width, depth, new BacktrackerGenerator());
     }
 
     /**
-     * Setup the starting grid, then 'carve' the passages of the maze.
-     */
-    @Override
-    public void setup() {
-        for (int row = 0; row < depth - 1; row++) {
-            row++;
-            for (int col = 0; col < width - 1; col++) {
-                col++;
-                coordinates[col][row] = true;
-            }
-        }
-        carvePassagesFrom(1, 1);
-    }
-
-    /**
-     * Reset the maze.
-     */
-    @Override
-    public void reset() {
-        reset = true;
-        cheeseIsSet = false;
-        mouseIsSet = false;
-        for (int row = 0; row < depth - 1; row++) {
-            for (int col = 0; col < width - 1; col++) {
-                coordinates[col][row] = false;
-                visited[col][row] = false;
-            }
-        }
-        setup();
-    }
-
-    /**
-     * Recursive method for carving the 'passages' of the maze.
+     * Constructor for class RecursiveBacktracker, generating the maze from a
+     * given seed.
      *
-     * @param x The current x position of the maze
-     * @param y The current y position of the maze
+     * @param width The grid width of the maze
+     * @param depth The grid depth of the maze
+     * @param seed The seed to generate the maze from
      */
-    private void carvePassagesFrom(int x, int y) {
-        coordinates[x][y] = true;
-        visited[x][y] = true;
-        Random random = new Random();
-        String directions[] = {"NORTH", "EAST", "SOUTH", "WEST"};
-        Collections.shuffle(Arrays.asList(directions), random);
-
-        for (String direction : directions) {
-            int neighbourX = x;
-            int neighbourY = y;
-            int wallX = 0;
-            int wallY = 0;
-            switch (direction) {
-                case "NORTH":
-                    if (y > 2) {
-                        neighbourX = x;
-                        neighbourY = y - 2;
-                        wallX = x;
-                        wallY = y - 1;
-                    }
-                    break;
-                case "EAST":
-                    if (x < width - 2) {
-                        neighbourX = x + 2;
-                        neighbourY = y;
-                        wallX = x + 1;
-                        wallY = y;
-                    }
-                    break;
-                case "SOUTH":
-                    if (y < depth - 2) {
-                        neighbourX = x;
-                        neighbourY = y + 2;
-                        wallX = x;
-                        wallY = y + 1;
-                    }
-                    break;
-                case "WEST":
-                    if (x > 2) {
-                        neighbourX = x - 2;
-                        neighbourY = y;
-                        wallX = x - 1;
-                        wallY = y;
-                    }
-                    break;
-            }
-            if (!visited[neighbourX][neighbourY]) {
-                coordinates[wallX][wallY] = true;
-                visited[wallX][wallY] = true;
-                carvePassagesFrom(neighbourX, neighbourY);
-            }
-        }
+    public RecursiveBacktracker(int width, int depth, long seed) {
+        super(width, depth, seed, new BacktrackerGenerator());
     }
 }
\ No newline at end of file
@@ -0,0 +1,25 @@
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight Recorder event for drawing a whole maze into the view.
+ *
+ * @author Michael Quested
+ * @version 1.1
+ * @date 2026/10/18
+ */
+@Name("mazemouse.Render")
+@Label("Maze Render")
+@Category("Maze Mouse")
+@Description("The view drawing every cell of a maze")
+public class RenderEvent extends Event {
+
+    @Label("Width")
+    int width;
+
+    @Label("Depth")
+    int depth;
+}
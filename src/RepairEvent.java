@@ -0,0 +1,36 @@
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight Recorder event for a mouse repairing its route after a wall changed.
+ *
+ * @author Michael Quested
+ * @version 1.1
+ * @date 2026/10/18
+ */
+@Name("mazemouse.Repair")
+@Label("Route Repair")
+@Category("Maze Mouse")
+@Description("A mouse repairing its route to the cheese after a wall changed")
+public class RepairEvent extends Event {
+
+    @Label("Mouse")
+    String mouse;
+
+    @Label("X")
+    int x;
+
+    @Label("Y")
+    int y;
+
+    @Label("Opened")
+    @Description("Whether the cell was opened into a passage rather than closed")
+    boolean opened;
+
+    @Label("Cells Updated")
+    @Description("The number of cells whose distance to the cheese the repair settled")
+    long cellsUpdated;
+}
@@ -0,0 +1,29 @@
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight Recorder event for the reset of a maze, covering clearing the old
+ * maze as well as generating the new one.
+ *
+ * @author Michael Quested
+ * @version 1.1
+ * @date 2026/10/18
+ */
+@Name("mazemouse.Reset")
+@Label("Maze Reset")
+@Category("Maze Mouse")
+@Description("A maze being cleared and regenerated")
+public class ResetEvent extends Event {
+
+    @Label("Generator")
+    String generator;
+
+    @Label("Width")
+    int width;
+
+    @Label("Depth")
+    int depth;
+}
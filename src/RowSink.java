@@ -0,0 +1,23 @@
+import java.io.IOException;
+
+/**
+ * Receives the rows of a maze one at a time as a streaming generator finishes
+ * them. Each row is bit-packed, with bit x of the row set if (x, y) is a
+ * passage.
+ *
+ * @author Michael Quested
+ * @version 1.1
+ * @date 2026/10/18
+ */
+public interface RowSink {
+
+    /**
+     * Accept a finished row of the maze. The row array is reused for the next
+     * row, so it must be copied if it is to be kept.
+     *
+     * @param y The grid position y of the row
+     * @param row The cells of the row, one bit per cell
+     * @param width The grid width of the row
+     */
+    void acceptRow(long y, long[] row, int width) throws IOException;
+}
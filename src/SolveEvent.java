@@ -0,0 +1,36 @@
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight Recorder event for a mouse searching a maze for the cheese.
+ *
+ * @author Michael Quested
+ * @version 1.1
+ * @date 2026/10/18
+ */
+@Name("mazemouse.Solve")
+@Label("Mouse Solve")
+@Category("Maze Mouse")
+@Description("A mouse searching for the cheese")
+public class SolveEvent extends Event {
+
+    @Label("Mouse")
+    String mouse;
+
+    @Label("Moves")
+    long moves;
+
+    @Label("Found Cheese")
+    boolean foundCheese;
+
+    @Label("Gave Up")
+    @Description("Whether the mouse ran out of steps or found it could not reach the cheese")
+    boolean gaveUp;
+
+    @Label("Observed")
+    @Description("Whether each move was shown to the maze's listeners")
+    boolean observed;
+}
@@ -0,0 +1,40 @@
+/**
+ * Class that creates a mouse that finds the shortest route to the cheese over
+ * the maze's tile graph, searching between the entrances of tiles and only
+ * then cell by cell through the tiles on the route, then follows it.
+ *
+ * @author Michael Quested
+ * @version 1.1
+ * @date 2026/10/18
+ */
+public class TileFollower extends PathFollower {
+
+    private TileGraph graph;
+    private TileGraph.Search search;
+
+    /**
+     * Constructor for class TileFollower.
+     *
+     * @param maze The maze that the mouse will be navigating.
+     */
+    public TileFollower(Maze maze) {
+        super(maze);
+    }
+
+    /**
+     * Search the tile graph, building it first if the maze does not have one
+     * yet. The search is kept for the next route, and started again only when
+     * the maze has built a new graph.
+     */
+    @Override
+    protected int[] findPath(int start, int goal) {
+        TileGraph current = maze.getTileGraph();
+        if (current != graph) {
+            graph = current;
+            search = current.newSearch();
+        }
+        int[] path = search.findPath(start, goal);
+        nodesExpanded = search.getNodesExpanded();
+        return path;
+    }
+}
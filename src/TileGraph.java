@@ -0,0 +1,852 @@
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.IntStream;
+
+/**
+ * A hierarchical index over the grid of a maze for hierarchical path-finding,
+ * HPA*. The grid is cut into square tiles of a fixed size. The passage cells
+ * on the edge of a tile with a passage next to them in another tile are the
+ * entrances of the tile, and the shortest distance within the tile between
+ * every two of its entrances is worked out once, for every tile at once
+ * across the cores.
+ *
+ * A query ties the start and goal into the entrances of their own tiles, then
+ * runs an A* search over the small graph of entrances alone: an entrance leads
+ * to the nearby entrances of its tile by the distances worked out, and to the
+ * entrance it faces across the edge of the tile in one move. Only the tiles
+ * the route found passes through are then searched cell by cell, each from
+ * where the route enters it only as far as where it leaves, to turn the route
+ * back into cells.
+ *
+ * The search is guided by landmarks as well as by the Manhattan distance to
+ * the goal. A handful of entrances around the edge of the maze are picked as
+ * landmarks, and the distance over the graph from each of them to every
+ * entrance is worked out once, one landmark to a thread. Since no route can
+ * be shorter than the difference of two cells' distances from a landmark,
+ * this gives a far tighter bound on the distance left to the goal than the
+ * Manhattan distance does in a winding maze, and the search strays much less
+ * far from the route.
+ *
+ * The graph listens to the walls of its maze. A change marks the tile of the
+ * changed cell, and of any cell next to it across the edge of a tile, to be
+ * worked out again before the next query; no other tile is touched. Any
+ * number of queries can run at once, each with a {@link Search} of its own,
+ * but a wall changed while a query is running may make it fail. A change also
+ * leaves the landmark distances out of date, so queries fall back to the
+ * Manhattan distance alone until {@link #updateLandmarks()} is called.
+ *
+ * Entrances are numbered within their tile, in order of their packed cell
+ * index, and a node of the graph is a tile and an entrance packed into one
+ * int, tile * capacity + entrance, where the capacity is the most entrances a
+ * tile can have.
+ *
+ * @author Michael Quested
+ * @version 1.1
+ * @date 2026/10/18
+ */
+public class TileGraph implements WallListener {
+
+    public final static int DEFAULT_TILE_SIZE = 32;
+    private final static int LANDMARKS = 16;
+    private final static int INFINITY = Integer.MAX_VALUE;
+    private final Maze maze;
+    private final int width, depth, size, columns, capacity;
+    private final int[] offsets;
+    private final Tile[] tiles;
+    private final boolean[] dirty;
+    private final IntList dirtyTiles = new IntList();
+    private volatile boolean changed;
+    private volatile int landmarkCount;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final long buildNanos;
+    private volatile long tilesRecomputed;
+
+    /**
+     * The entrances of a tile and the distances between them.
+     */
+    private static final class Tile {
+
+        private final int[] cells;
+        private final int[] first, ends, lengths;
+        private final int[] slots;
+        private int[] landmarks;
+
+        /**
+         * Constructor for class Tile.
+         *
+         * @param cells The packed index of each entrance, in order
+         * @param first Where the edges from each entrance start in the ends
+         * and lengths, with one more after the last entrance
+         * @param ends The entrance at the far end of each edge
+         * @param lengths The length of each edge
+         * @param slots The number of the entrance at each place on the edge
+         * of the tile, or -1 where there is none
+         */
+        private Tile(int[] cells, int[] first, int[] ends, int[] lengths, int[] slots) {
+            this.cells = cells;
+            this.first = first;
+            this.ends = ends;
+            this.lengths = lengths;
+            this.slots = slots;
+        }
+
+        /**
+         * Get the distance over the graph from a landmark to an entrance.
+         *
+         * @return the distance, or INFINITY if there is no way
+         */
+        private int fromLandmark(int landmark, int entrance) {
+            return landmarks[landmark * cells.length + entrance];
+        }
+    }
+
+    /**
+     * Constructor for class TileGraph, with tiles of the default size.
+     *
+     * @param maze The maze to index
+     */
+    public TileGraph(Maze maze) {
+        this(maze, DEFAULT_TILE_SIZE);
+    }
+
+    /**
+     * Constructor for class TileGraph. Works out the entrances of every tile
+     * and the distances between them, spreading the tiles over the threads of
+     * the common fork/join pool, then the distances from the landmarks.
+     *
+     * @param maze The maze to index
+     * @param size The width and depth of a tile in cells, at least 2
+     */
+    public TileGraph(Maze maze, int size) {
+        if (size < 2) {
+            throw new IllegalArgumentException("Tiles must be at least 2 cells across, not " + size);
+        }
+        long began = System.nanoTime();
+        long start = Metric.start();
+        this.maze = maze;
+        this.size = size;
+        width = maze.getWidth();
+        depth = maze.getDepth();
+        offsets = new int[] {-width, 1, width, -1};
+        columns = (width + size - 1) / size;
+        tiles = new Tile[columns * ((depth + size - 1) / size)];
+        dirty = new boolean[tiles.length];
+        capacity = 4 * size;
+        if ((long) tiles.length * capacity > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Tiles of " + size + " cells are too small for a maze this large");
+        }
+        final int threads = Math.max(1, Math.min(ForkJoinPool.getCommonPoolParallelism(), tiles.length));
+        IntStream.range(0, threads).parallel().forEach(thread -> {
+            Flood flood = new Flood();
+            for (int tile = thread; tile < tiles.length; tile += threads) {
+                tiles[tile] = build(tile, flood);
+            }
+        });
+        measureLandmarks();
+        Metric.TILES.recordSince(start);
+        buildNanos = System.nanoTime() - began;
+    }
+
+    /**
+     * Work out the entrances of a tile and the distances between them, with
+     * a flood from each entrance over the tile. Only the ways between two
+     * entrances that no other entrance lies on a shortest way along are kept
+     * as edges, since the rest are made up of shorter ones: in a tile of a
+     * perfect maze that leaves a few edges to an entrance rather than one to
+     * every other.
+     */
+    private Tile build(int tile, Flood flood) {
+        int x0 = (tile % columns) * size;
+        int y0 = (tile / columns) * size;
+        int x1 = Math.min(x0 + size, width);
+        int y1 = Math.min(y0 + size, depth);
+        IntList entrances = new IntList();
+        for (int y = y0; y < y1; y++) {
+            int step = y == y0 || y == y1 - 1 ? 1 : Math.max(1, x1 - 1 - x0);
+            for (int x = x0; x < x1; x += step) {
+                if (isEntrance(tile, y * width + x)) {
+                    entrances.add(y * width + x);
+                }
+            }
+        }
+        int[] cells = entrances.toArray();
+        int count = cells.length;
+        int[] distance = new int[count * count];
+        for (int i = 0; i < count; i++) {
+            flood.fill(tile, cells[i]);
+            for (int j = 0; j < count; j++) {
+                distance[i * count + j] = flood.distanceTo(cells[j]);
+            }
+        }
+        int[] first = new int[count + 1];
+        IntList ends = new IntList();
+        IntList lengths = new IntList();
+        for (int i = 0; i < count; i++) {
+            first[i] = ends.size();
+            for (int j = 0; j < count; j++) {
+                int d = distance[i * count + j];
+                if (j != i && d != INFINITY && !isThrough(distance, count, i, j)) {
+                    ends.add(j);
+                    lengths.add(d);
+                }
+            }
+        }
+        first[count] = ends.size();
+        int[] slots = new int[capacity];
+        Arrays.fill(slots, -1);
+        for (int i = 0; i < cells.length; i++) {
+            slots[edgePlace(tile, cells[i])] = i;
+        }
+        return new Tile(cells, first, ends.toArray(), lengths.toArray(), slots);
+    }
+
+    /**
+     * Check if another entrance lies on a shortest way between two.
+     */
+    private static boolean isThrough(int[] distance, int count, int from, int to) {
+        int d = distance[from * count + to];
+        for (int k = 0; k < count; k++) {
+            int before = distance[from * count + k];
+            int after = distance[k * count + to];
+            if (k != from && k != to && before != INFINITY && after != INFINITY && before + after == d) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Check if a cell is an entrance of its tile: a passage with a passage
+     * next to it in another tile.
+     */
+    private boolean isEntrance(int tile, int cell) {
+        if (!maze.isPassageAt(cell)) {
+            return false;
+        }
+        for (int offset : offsets) {
+            int neighbour = cell + offset;
+            if (tileOf(neighbour) != tile && maze.isPassageAt(neighbour)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Get the place of a cell on the edge of its tile: along the top row,
+     * then the bottom row, then down the left and right sides. A cell inside
+     * the tile has no place of its own.
+     */
+    private int edgePlace(int tile, int cell) {
+        int top = (tile / columns) * size;
+        int x = cell % width - (tile % columns) * size;
+        int y = cell / width - top;
+        int bottom = Math.min(size, depth - top) - 1;
+        return y == 0 ? x : y == bottom ? size + x : x == 0 ? 2 * size + y : 3 * size + y;
+    }
+
+    /**
+     * Get the tile a cell is in.
+     *
+     * @param cell The packed index y * width + x of the cell
+     * @return the number of the tile, counted row by row
+     */
+    public int tileOf(int cell) {
+        return (cell / width / size) * columns + (cell % width) / size;
+    }
+
+    /**
+     * Mark the tiles a changed cell could alter to be worked out again
+     * before the next query: its own, and that of any cell next to it in
+     * another tile, whose entrances it may open or close. A neighbour off
+     * the edge of the grid has no tile.
+     */
+    @Override
+    public void wallChanged(int x, int y, boolean passage) {
+        int cell = y * width + x;
+        synchronized (dirtyTiles) {
+            markDirty(tileOf(cell));
+            for (int side = 0; side < 4; side++) {
+                int nx = x + (side == 1 ? 1 : side == 3 ? -1 : 0);
+                int ny = y + (side == 2 ? 1 : side == 0 ? -1 : 0);
+                if (nx < 0 || ny < 0 || nx >= width || ny >= depth) {
+                    continue;
+                }
+                markDirty(tileOf(cell + offsets[side]));
+            }
+            changed = true;
+            landmarkCount = 0;
+        }
+    }
+
+    private void markDirty(int tile) {
+        if (!dirty[tile]) {
+            dirty[tile] = true;
+            dirtyTiles.add(tile);
+        }
+    }
+
+    /**
+     * Work out again every tile marked since the last query, while no query
+     * is running.
+     */
+    private void refresh() {
+        if (!changed) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            int[] pending;
+            synchronized (dirtyTiles) {
+                pending = dirtyTiles.toArray();
+                dirtyTiles.clear();
+                for (int tile : pending) {
+                    dirty[tile] = false;
+                }
+                changed = false;
+            }
+            Flood flood = new Flood();
+            for (int tile : pending) {
+                tiles[tile] = build(tile, flood);
+            }
+            tilesRecomputed += pending.length;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Work out the distances from the landmarks again after walls have
+     * changed, so that queries are guided by them once more. Queries wait
+     * while this runs.
+     */
+    public void updateLandmarks() {
+        refresh();
+        lock.writeLock().lock();
+        try {
+            measureLandmarks();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Pick the landmarks and search the graph from each of them, one
+     * landmark to a thread of the common fork/join pool. A landmark is the
+     * first entrance of the tile nearest each corner of the maze and the
+     * middle of each of its sides that has one. The landmarks are only used
+     * if no wall changed while they were measured.
+     */
+    private void measureLandmarks() {
+        int rows = tiles.length / columns;
+        int around = 2 * (columns - 1) + 2 * (rows - 1);
+        IntList picked = new IntList();
+        for (int a = 0; a < LANDMARKS; a++) {
+            // Step an even share of the way round the tiles on the edge.
+            int along = (int) ((long) a * around / LANDMARKS);
+            int column, row;
+            if (along < columns - 1) {
+                column = along;
+                row = 0;
+            } else if ((along -= columns - 1) < rows - 1) {
+                column = columns - 1;
+                row = along;
+            } else if ((along -= rows - 1) < columns - 1) {
+                column = columns - 1 - along;
+                row = rows - 1;
+            } else {
+                column = 0;
+                row = Math.max(0, rows - 1 - (along - (columns - 1)));
+            }
+            int node = nearestEntrance(column, row);
+            boolean repeated = false;
+            for (int i = 0; i < picked.size(); i++) {
+                repeated |= picked.get(i) == node;
+            }
+            if (node >= 0 && !repeated) {
+                picked.add(node);
+            }
+        }
+        int[] landmarks = picked.toArray();
+        for (Tile tile : tiles) {
+            tile.landmarks = new int[landmarks.length * tile.cells.length];
+            Arrays.fill(tile.landmarks, INFINITY);
+        }
+        final int threads = Math.max(1, Math.min(ForkJoinPool.getCommonPoolParallelism(), landmarks.length));
+        IntStream.range(0, threads).parallel().forEach(thread -> {
+            IntMinHeap open = new IntMinHeap(1024);
+            for (int landmark = thread; landmark < landmarks.length; landmark += threads) {
+                measureFrom(landmark, landmarks[landmark], open);
+            }
+        });
+        synchronized (dirtyTiles) {
+            landmarkCount = changed ? 0 : landmarks.length;
+        }
+    }
+
+    /**
+     * Get the first entrance of the tile nearest a tile that has one,
+     * looking in rings of tiles further and further out.
+     *
+     * @return the node of the entrance, or -1 if no tile has one
+     */
+    private int nearestEntrance(int column, int row) {
+        int rows = tiles.length / columns;
+        for (int ring = 0; ring < Math.max(columns, rows); ring++) {
+            for (int r = Math.max(0, row - ring); r <= Math.min(rows - 1, row + ring); r++) {
+                for (int c = Math.max(0, column - ring); c <= Math.min(columns - 1, column + ring); c++) {
+                    int tile = r * columns + c;
+                    if (tiles[tile].cells.length > 0) {
+                        return tile * capacity;
+                    }
+                }
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Search the whole graph from a landmark with Dijkstra's algorithm,
+     * keeping the distance of every entrance in the landmark's row of its
+     * tile's table.
+     */
+    private void measureFrom(int landmark, int node, IntMinHeap open) {
+        open.clear();
+        tiles[node / capacity].landmarks[landmark * tiles[node / capacity].cells.length + node % capacity] = 0;
+        open.push(0, node);
+        while (!open.isEmpty()) {
+            int reached = open.peekKey();
+            node = open.pop();
+            int tile = node / capacity;
+            int entrance = node % capacity;
+            Tile at = tiles[tile];
+            int count = at.cells.length;
+            if (reached > at.fromLandmark(landmark, entrance)) {
+                continue; // A stale entry, superseded by a shorter route.
+            }
+            for (int edge = at.first[entrance]; edge < at.first[entrance + 1]; edge++) {
+                int i = at.ends[edge];
+                int d = reached + at.lengths[edge];
+                if (d < at.fromLandmark(landmark, i)) {
+                    at.landmarks[landmark * count + i] = d;
+                    open.push(d, tile * capacity + i);
+                }
+            }
+            for (int offset : offsets) {
+                int across = facing(tile, at.cells[entrance] + offset);
+                if (across >= 0) {
+                    Tile other = tiles[across / capacity];
+                    int i = across % capacity;
+                    if (reached + 1 < other.fromLandmark(landmark, i)) {
+                        other.landmarks[landmark * other.cells.length + i] = reached + 1;
+                        open.push(reached + 1, across);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Get the entrance an entrance leads to in one move, across the edge of
+     * its tile.
+     *
+     * @param tile The tile of the entrance moved from
+     * @param neighbour The packed index of the cell moved to
+     * @return the node of the entrance moved to, or -1 if the cell is a wall
+     * or in the same tile
+     */
+    private int facing(int tile, int neighbour) {
+        int across = tileOf(neighbour);
+        if (across == tile || !maze.isPassageAt(neighbour)) {
+            return -1;
+        }
+        int i = tiles[across].slots[edgePlace(across, neighbour)];
+        return i < 0 ? -1 : across * capacity + i;
+    }
+
+    /**
+     * Get the number of landmarks guiding queries.
+     *
+     * @return the number of landmarks, or 0 if walls have changed since
+     * they were last measured
+     */
+    public int getLandmarkCount() {
+        return landmarkCount;
+    }
+
+    /**
+     * Get the width and depth of a tile.
+     *
+     * @return the size of a tile in cells
+     */
+    public int getTileSize() {
+        return size;
+    }
+
+    /**
+     * Get the number of tiles the maze is cut into.
+     *
+     * @return the number of tiles
+     */
+    public int getTileCount() {
+        return tiles.length;
+    }
+
+    /**
+     * Get the number of entrances over every tile, which is the number of
+     * nodes the graph searches.
+     *
+     * @return the number of entrances
+     */
+    public long getEntranceCount() {
+        long entrances = 0;
+        for (Tile tile : tiles) {
+            entrances += tile.cells.length;
+        }
+        return entrances;
+    }
+
+    /**
+     * Get the wall-clock time it took to work out every tile.
+     *
+     * @return the build time in nanoseconds
+     */
+    public long getBuildNanos() {
+        return buildNanos;
+    }
+
+    /**
+     * Get the number of tiles worked out again after walls changed.
+     *
+     * @return the number of tiles recomputed
+     */
+    public long getTilesRecomputed() {
+        return tilesRecomputed;
+    }
+
+    /**
+     * Start a search over the graph.
+     *
+     * @return a new search
+     */
+    public Search newSearch() {
+        return new Search();
+    }
+
+    /**
+     * A breadth-first flood over the cells of one tile, with its arrays
+     * indexed by a cell's place within the tile. A cell counts as reached only
+     * if it is stamped with the number of the current flood, so the arrays are
+     * never cleared.
+     */
+    private final class Flood {
+
+        private final int[] stamp = new int[size * size];
+        private final int[] distance = new int[size * size];
+        private final int[] parent = new int[size * size];
+        private final int[] queue = new int[size * size];
+        private int flood;
+        private int x0, y0, x1, y1;
+
+        /**
+         * Flood a tile from a cell in it, recording the distance of every
+         * cell reached and the cell it was reached from.
+         */
+        private void fill(int tile, int from) {
+            fill(tile, from, -1);
+        }
+
+        /**
+         * Flood a tile from a cell in it, stopping as soon as a given cell is
+         * reached.
+         *
+         * @param until The packed index of the cell to stop at, or -1 to
+         * flood the whole tile
+         */
+        private void fill(int tile, int from, int until) {
+            if (++flood == 0) {
+                Arrays.fill(stamp, 0);
+                flood = 1;
+            }
+            x0 = (tile % columns) * size;
+            y0 = (tile / columns) * size;
+            x1 = Math.min(x0 + size, width);
+            y1 = Math.min(y0 + size, depth);
+            int head = 0, tail = 0;
+            int local = local(from);
+            stamp[local] = flood;
+            distance[local] = 0;
+            parent[local] = from;
+            queue[tail++] = from;
+            int stop = until < 0 ? -1 : local(until);
+            while (head < tail && (stop < 0 || stamp[stop] != flood)) {
+                int cell = queue[head++];
+                int x = cell % width;
+                int y = cell / width;
+                int here = (y - y0) * size + x - x0;
+                int reached = distance[here] + 1;
+                for (int side = 0; side < 4; side++) {
+                    int nx = x + (side == 1 ? 1 : side == 3 ? -1 : 0);
+                    int ny = y + (side == 2 ? 1 : side == 0 ? -1 : 0);
+                    if (nx < x0 || ny < y0 || nx >= x1 || ny >= y1) {
+                        continue;
+                    }
+                    int neighbour = cell + offsets[side];
+                    int at = here + (side == 0 ? -size : side == 2 ? size : side == 1 ? 1 : -1);
+                    if (stamp[at] != flood && maze.isPassageAt(neighbour)) {
+                        stamp[at] = flood;
+                        distance[at] = reached;
+                        parent[at] = cell;
+                        queue[tail++] = neighbour;
+                    }
+                }
+            }
+        }
+
+        /**
+         * Get the distance of a cell of the tile from the cell flooded from.
+         *
+         * @return the distance, or INFINITY if the flood did not reach it
+         */
+        private int distanceTo(int cell) {
+            int at = local(cell);
+            return stamp[at] == flood ? distance[at] : INFINITY;
+        }
+
+        /**
+         * Append the cells of the way from a cell of the tile to the cell
+         * flooded from, after the cell itself.
+         *
+         * @return false if the flood did not reach the cell
+         */
+        private boolean trace(int cell, IntList path) {
+            if (distanceTo(cell) == INFINITY) {
+                return false;
+            }
+            for (int at = local(cell); distance[at] > 0; at = local(cell)) {
+                cell = parent[at];
+                path.add(cell);
+            }
+            return true;
+        }
+
+        private int local(int cell) {
+            return (cell / width - y0) * size + cell % width - x0;
+        }
+    }
+
+    /**
+     * A search for shortest routes over the graph, holding the working state
+     * and statistics of one caller. A search may be reused for many queries.
+     * Its arrays hold a slot for every node the graph could have, stamped
+     * with the number of the query that last reached it rather than cleared.
+     */
+    public class Search {
+
+        private final int[] stamp = new int[tiles.length * capacity];
+        private final int[] distance = new int[stamp.length];
+        private final int[] parent = new int[stamp.length];
+        private final IntMinHeap open = new IntMinHeap(256);
+        private final Flood flood = new Flood();
+        private final int[] goalBound = new int[LANDMARKS];
+        private int query;
+        private long nodesExpanded;
+        private int goalX, goalY, landmarks;
+
+        /**
+         * Get the number of entrances the last query expanded.
+         *
+         * @return the number of nodes expanded
+         */
+        public long getNodesExpanded() {
+            return nodesExpanded;
+        }
+
+        /**
+         * Find a shortest route between two passage cells, working out again
+         * any tiles whose walls have changed first.
+         *
+         * @param start The packed index of the cell to start from
+         * @param goal The packed index of the cell to reach
+         * @return the cells of the route from start to goal inclusive, or null
+         * if the goal cannot be reached
+         */
+        public int[] findPath(int start, int goal) {
+            refresh();
+            lock.readLock().lock();
+            try {
+                return search(start, goal);
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        private int[] search(int start, int goal) {
+            nodesExpanded = 0;
+            if (start == goal) {
+                return new int[] {start};
+            }
+            if (++query == 0) {
+                Arrays.fill(stamp, 0);
+                query = 1;
+            }
+            open.clear();
+            goalX = goal % width;
+            goalY = goal / width;
+            int startTile = tileOf(start);
+            int goalTile = tileOf(goal);
+
+            // Tie the goal in first, as the bound on the distance left
+            // depends on it: how far each entrance of its tile is from it.
+            Tile to = tiles[goalTile];
+            int[] goalDistance = new int[to.cells.length];
+            flood.fill(goalTile, goal);
+            for (int i = 0; i < to.cells.length; i++) {
+                goalDistance[i] = flood.distanceTo(to.cells[i]);
+            }
+
+            // The distance from each landmark to the goal is the least over
+            // the entrances of its tile of the landmark's distance to the
+            // entrance and on to the goal.
+            landmarks = landmarkCount;
+            for (int landmark = 0; landmark < landmarks; landmark++) {
+                long bound = INFINITY;
+                for (int i = 0; i < to.cells.length; i++) {
+                    if (goalDistance[i] != INFINITY) {
+                        bound = Math.min(bound, (long) to.fromLandmark(landmark, i) + goalDistance[i]);
+                    }
+                }
+                goalBound[landmark] = (int) Math.min(bound, INFINITY);
+            }
+
+            // Tie the start in to the entrances of its tile, and straight to
+            // the goal if it is in the same tile.
+            int best = INFINITY;
+            int bestNode = -1;
+            flood.fill(startTile, start);
+            if (startTile == goalTile) {
+                best = flood.distanceTo(goal);
+            }
+            Tile from = tiles[startTile];
+            for (int i = 0; i < from.cells.length; i++) {
+                int reached = flood.distanceTo(from.cells[i]);
+                if (reached != INFINITY) {
+                    reach(startTile * capacity + i, reached, -1);
+                }
+            }
+
+            while (!open.isEmpty() && open.peekKey() < best) {
+                int key = open.peekKey();
+                int node = open.pop();
+                int tile = node / capacity;
+                int entrance = node % capacity;
+                Tile at = tiles[tile];
+                int cell = at.cells[entrance];
+                int reached = distance[node];
+                if (key - heuristic(at, entrance) > reached) {
+                    continue; // A stale entry, superseded by a shorter route.
+                }
+                nodesExpanded++;
+                if (tile == goalTile && goalDistance[entrance] != INFINITY
+                        && reached + goalDistance[entrance] < best) {
+                    best = reached + goalDistance[entrance];
+                    bestNode = node;
+                }
+                for (int edge = at.first[entrance]; edge < at.first[entrance + 1]; edge++) {
+                    reach(tile * capacity + at.ends[edge], reached + at.lengths[edge], node);
+                }
+                for (int offset : offsets) {
+                    int across = facing(tile, cell + offset);
+                    if (across >= 0) {
+                        reach(across, reached + 1, node);
+                    }
+                }
+            }
+            if (best == INFINITY) {
+                return null;
+            }
+            return refine(start, goal, startTile, goalTile, bestNode);
+        }
+
+        /**
+         * Record a shorter route to a node and queue it.
+         */
+        private void reach(int node, int reached, int from) {
+            if (stamp[node] != query || reached < distance[node]) {
+                stamp[node] = query;
+                distance[node] = reached;
+                parent[node] = from;
+                open.push(reached + heuristic(tiles[node / capacity], node % capacity), node);
+            }
+        }
+
+        /**
+         * Get a lower bound on the distance from an entrance to the goal: the
+         * greatest of its Manhattan distance and the difference of its and
+         * the goal's distances from each landmark that reaches both.
+         */
+        private int heuristic(Tile tile, int entrance) {
+            int cell = tile.cells[entrance];
+            int bound = Math.abs(cell % width - goalX) + Math.abs(cell / width - goalY);
+            for (int landmark = 0; landmark < landmarks; landmark++) {
+                int from = tile.fromLandmark(landmark, entrance);
+                if (from != INFINITY && goalBound[landmark] != INFINITY) {
+                    bound = Math.max(bound, Math.abs(goalBound[landmark] - from));
+                }
+            }
+            return bound;
+        }
+
+        /**
+         * Turn the route over the graph back into cells, flooding only the
+         * tiles it crosses.
+         *
+         * @return the cells of the route, or null if a wall changed while
+         * searching broke it
+         */
+        private int[] refine(int start, int goal, int startTile, int goalTile, int last) {
+            IntList path = new IntList();
+            path.add(start);
+            if (last < 0) {
+                return leg(startTile, start, goal, path) ? path.toArray() : null;
+            }
+            IntList chain = new IntList();
+            for (int node = last; node >= 0; node = parent[node]) {
+                chain.add(node);
+            }
+            // Each run of the route within one tile is a shortest way across
+            // it, so only its two ends need to be joined up.
+            int cell = start;
+            int tile = startTile;
+            int previous = start;
+            for (int i = chain.size() - 1; i >= 0; i--) {
+                int node = chain.get(i);
+                int next = tiles[node / capacity].cells[node % capacity];
+                if (node / capacity != tile) {
+                    if (!leg(tile, cell, previous, path)) {
+                        return null;
+                    }
+                    path.add(next);
+                    cell = next;
+                    tile = node / capacity;
+                }
+                previous = next;
+            }
+            return leg(goalTile, cell, goal, path) ? path.toArray() : null;
+        }
+
+        /**
+         * Append a shortest way within a tile from one cell to another, after
+         * the first cell.
+         */
+        private boolean leg(int tile, int from, int to, IntList path) {
+            if (from == to) {
+                return true;
+            }
+            flood.fill(tile, to, from);
+            return flood.trace(from, path);
+        }
+    }
+}
@@ -0,0 +1,74 @@
+/**
+ * Class that creates a mouse that collects every piece of cheese in the maze,
+ * following the route of a {@link CheeseTour} from where it is put down. Its
+ * search is only over once the last piece has been collected.
+ *
+ * @author Michael Quested
+ * @version 1.1
+ * @date 2026/10/18
+ */
+public class TourFollower extends PathFollower {
+
+    private int moved;
+
+    /**
+     * Constructor for class TourFollower.
+     *
+     * @param maze The maze that the mouse will be navigating.
+     */
+    public TourFollower(Maze maze) {
+        super(maze);
+    }
+
+    /**
+     * Plan the tour from the start and join up the routes between the
+     * pieces of cheese. The goal the maze suggests is ignored.
+     *
+     * @return the route, or null if some piece of cheese cannot be reached
+     */
+    @Override
+    protected int[] findPath(int start, int goal) {
+        CheeseTour tour;
+        try {
+            tour = new CheeseTour(maze, start);
+        } catch (IllegalStateException e) {
+            return null;
+        }
+        int[] route = tour.getRoute();
+        nodesExpanded = tour.getNodesExpanded();
+        return route;
+    }
+
+    /**
+     * A tour is not a route to the goal plan() asks for, so it is never
+     * cached.
+     */
+    @Override
+    protected boolean isCacheable() {
+        return false;
+    }
+
+    /**
+     * The search is over once the whole route has been followed, or at once
+     * if there is no cheese to collect.
+     */
+    @Override
+    protected boolean isAtGoal() {
+        if (maze.getCheeseCount() == 0) {
+            return true;
+        }
+        if (getPathLength() < 0 && !hasGivenUp()) {
+            plan();
+        }
+        return moved == getPathLength();
+    }
+
+    /**
+     * Take the next step along the tour.
+     */
+    @Override
+    public void move() {
+        super.move();
+        moved++;
+    }
+}
@@ -0,0 +1,331 @@
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.management.ThreadMXBean;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.function.BiFunction;
+import java.util.random.RandomGenerator;
+
+/**
+ * Runs every combination of a set of generators, mice, sizes and seeds, and
+ * writes a line of CSV for each mouse's run as soon as it finishes.
+ *
+ * Each maze is a task on a work-stealing pool with a thread for each core. A
+ * task generates its maze, puts the cheese in the far corner, and lets every
+ * mouse loose in turn from the near corner, comparing the steps each takes
+ * with the shortest path. The seed of every maze is split off its seed before
+ * any task runs, so the results are the same however they are spread over the
+ * threads; only the order of the lines differs.
+ *
+ * Each line gives the bytes allocated by the thread the run was on, which
+ * is that run's own. The most heap in use at once is shared by every thread,
+ * so it is measured for the whole tournament instead, by
+ * {@link #getPeakHeapBytes}.
+ *
+ * @author Michael Quested
+ * @version 1.1
+ * @date 2026/10/18
+ */
+public class Tournament {
+
+    public final static String HEADER = "generator,mouse,width,depth,seed,generation_ns,solve_ns,steps,"
+            + "shortest,optimality,found,allocated_bytes";
+    private final Map<String, MazeFactory> generators = new LinkedHashMap<>();
+    private final Map<String, BiFunction<Maze, RandomGenerator, Mouse>> mice = new LinkedHashMap<>();
+    private final List<int[]> sizes = new ArrayList<>();
+    private long[] seeds = {0};
+    private int count = 1;
+    private final int parallelism;
+    private long mazes;
+    private long runNanos;
+    private long peakHeapBytes;
+
+    /**
+     * Creates a maze of the given size from a seed.
+     */
+    public interface MazeFactory {
+
+        /**
+         * Generate a maze.
+         *
+         * @param width The width of the maze
+         * @param depth The depth of the maze
+         * @param seed The seed to generate it from
+         * @return the generated maze
+         */
+        Maze create(int width, int depth, long seed);
+    }
+
+    /**
+     * Constructor for class Tournament, running on every core.
+     */
+    public Tournament() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Constructor for class Tournament.
+     *
+     * @param parallelism The number of threads to run the mazes on
+     */
+    public Tournament(int parallelism) {
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Add a generator to the tournament.
+     *
+     * @param name The name of the generator in the results
+     * @param generator Creates a maze from its size and seed
+     */
+    public void addGenerator(String name, MazeFactory generator) {
+        generators.put(name, generator);
+    }
+
+    /**
+     * Add a mouse to the tournament.
+     *
+     * @param name The name of the mouse in the results
+     * @param mouse Creates a mouse for a maze from a source of randomness
+     */
+    public void addMouse(String name, BiFunction<Maze, RandomGenerator, Mouse> mouse) {
+        mice.put(name, mouse);
+    }
+
+    /**
+     * Add a size of maze to the tournament.
+     *
+     * @param width The width of the mazes
+     * @param depth The depth of the mazes
+     */
+    public void addSize(int width, int depth) {
+        sizes.add(new int[] {width, depth});
+    }
+
+    /**
+     * Set the seeds of the tournament, and how many mazes are split off each
+     * one for every generator and size.
+     *
+     * @param count The number of mazes for each seed
+     * @param seeds The seeds to split the mazes off
+     */
+    public void setSeeds(int count, long... seeds) {
+        this.count = count;
+        this.seeds = seeds.clone();
+    }
+
+    /**
+     * Run every maze and every mouse, writing a header and then a line for
+     * each run of a mouse as it finishes.
+     *
+     * @param csv Where to write the results
+     * @return the number of mazes generated and solved a second for each core
+     */
+    public double run(Writer csv) throws IOException, InterruptedException {
+        csv.write(HEADER);
+        csv.write('\n');
+        csv.flush();
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP) {
+                pool.resetPeakUsage();
+            }
+        }
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        List<Future<?>> futures = new ArrayList<>();
+        long start = System.nanoTime();
+        try {
+            for (Map.Entry<String, MazeFactory> generator : generators.entrySet()) {
+                for (int[] size : sizes) {
+                    for (long seed : seeds) {
+                        SplittableRandom split = new SplittableRandom(seed);
+                        for (int i = 0; i < count; i++) {
+                            final long mazeSeed = split.nextLong();
+                            futures.add(pool.submit(() -> play(generator.getKey(), generator.getValue(),
+                                    size[0], size[1], mazeSeed, csv)));
+                        }
+                    }
+                }
+            }
+            for (Future<?> future : futures) {
+                try {
+                    future.get();
+                } catch (ExecutionException e) {
+                    if (e.getCause() instanceof UncheckedIOException) {
+                        throw ((UncheckedIOException) e.getCause()).getCause();
+                    }
+                    if (e.getCause() instanceof RuntimeException) {
+                        throw (RuntimeException) e.getCause();
+                    }
+                    throw new IllegalStateException(e.getCause());
+                }
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        runNanos = System.nanoTime() - start;
+        peakHeapBytes = peakHeapBytes();
+        mazes = futures.size();
+        return getThroughput();
+    }
+
+    /**
+     * Get the number of mazes generated and solved in the last run.
+     *
+     * @return the number of mazes
+     */
+    public long getMazes() {
+        return mazes;
+    }
+
+    /**
+     * Get how long the last run took.
+     *
+     * @return the time in nanoseconds
+     */
+    public long getRunNanos() {
+        return runNanos;
+    }
+
+    /**
+     * Get the most heap in use at once during the last run, by every thread
+     * together.
+     *
+     * @return the peak heap in bytes, summed over the heap's pools
+     */
+    public long getPeakHeapBytes() {
+        return peakHeapBytes;
+    }
+
+    /**
+     * Get the number of mazes generated and solved a second for each core in
+     * the last run.
+     *
+     * @return the throughput in mazes a second a core
+     */
+    public double getThroughput() {
+        return runNanos == 0 ? 0 : mazes * 1e9 / runNanos / parallelism;
+    }
+
+    /**
+     * Generate one maze and run every mouse in it, writing a line for each.
+     */
+    private void play(String name, MazeFactory generator, int width, int depth, long seed, Writer csv) {
+        long generationStart = System.nanoTime();
+        Maze maze = generator.create(width, depth, seed);
+        long generationNanos = System.nanoTime() - generationStart;
+        int goalX = maze.getWidth() - 2;
+        int goalY = maze.getDepth() - 2;
+        maze.setCheese(goalX, goalY);
+        int shortest = maze.getDistanceField().distanceFrom(maze.getWidth() + 1);
+        SplittableRandom random = new SplittableRandom(seed);
+        StringBuilder lines = new StringBuilder();
+        for (Map.Entry<String, BiFunction<Maze, RandomGenerator, Mouse>> entry : mice.entrySet()) {
+            long allocated = allocatedBytes();
+            long solveStart = System.nanoTime();
+            Mouse mouse = entry.getValue().apply(maze, random.split());
+            mouse.setPosition(1, 1);
+            mouse.run();
+            long solveNanos = System.nanoTime() - solveStart;
+            allocated = allocatedBytes() - allocated;
+            lines.append(name).append(',').append(entry.getKey()).append(',')
+                    .append(maze.getWidth()).append(',').append(maze.getDepth()).append(',')
+                    .append(seed).append(',').append(generationNanos).append(',')
+                    .append(solveNanos).append(',').append(mouse.getSteps()).append(',')
+                    .append(shortest).append(',')
+                    .append(shortest == 0 ? 1.0 : (double) mouse.getSteps() / shortest).append(',')
+                    .append(mouse.hasFoundCheese()).append(',').append(allocated).append('\n');
+        }
+        synchronized (csv) {
+            try {
+                csv.write(lines.toString());
+                csv.flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    /**
+     * Get the bytes allocated by the current thread so far, or -1 if the
+     * virtual machine does not count them.
+     */
+    private static long allocatedBytes() {
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        if (threads instanceof com.sun.management.ThreadMXBean) {
+            return ((com.sun.management.ThreadMXBean) threads).getCurrentThreadAllocatedBytes();
+        }
+        return -1;
+    }
+
+    /**
+     * Get the most heap in use at once since the tournament started, summed
+     * over the heap's pools.
+     */
+    private static long peakHeapBytes() {
+        long peak = 0;
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP) {
+                peak += pool.getPeakUsage().getUsed();
+            }
+        }
+        return peak;
+    }
+
+    /**
+     * Run a tournament of every generator, with and without braiding, and
+     * every mouse on two sizes of maze, writing the results to the file named,
+     * or to standard output if none is, and the throughput to standard error.
+     *
+     * @param args The file to write the results to, if any
+     */
+    public static void main(String[] args) throws IOException, InterruptedException {
+        Tournament tournament = new Tournament();
+        for (final String name : Generator.NAMES) {
+            tournament.addGenerator(name, (width, depth, seed) -> new Maze(width, depth, seed, Generator.create(name)));
+            tournament.addGenerator(name + " braided", (width, depth, seed) ->
+                    new Maze(width, depth, seed, new BraidGenerator(Generator.create(name), 0.5)));
+        }
+        tournament.addMouse("WallFollower", WallFollower::new);
+        tournament.addMouse("Tremaux", Tremaux::new);
+        tournament.addMouse("BreadthFirst", (maze, random) -> new BreadthFirst(maze));
+        tournament.addMouse("BidirectionalBreadthFirst", (maze, random) -> new BidirectionalBreadthFirst(maze));
+        tournament.addMouse("AStar", (maze, random) -> new AStar(maze));
+        tournament.addMouse("FieldFollower", (maze, random) -> new FieldFollower(maze));
+        tournament.addMouse("JunctionFollower", (maze, random) -> new JunctionFollower(maze));
+        tournament.addMouse("TileFollower", (maze, random) -> new TileFollower(maze));
+        tournament.addMouse("DStarLite", (maze, random) -> new DStarLite(maze));
+        tournament.addSize(101, 101);
+        tournament.addSize(501, 501);
+        tournament.setSeeds(20, 1, 2, 3);
+        Writer csv = args.length > 0
+                ? Files.newBufferedWriter(Paths.get(args[0]), StandardCharsets.UTF_8)
+                : new BufferedWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8));
+        try {
+            double throughput = tournament.run(csv);
+            System.err.printf("%d mazes in %.2f s on %d cores: %.1f mazes/s/core, peak heap %d MB%n",
+                    tournament.getMazes(), tournament.getRunNanos() / 1e9, tournament.parallelism, throughput,
+                    tournament.getPeakHeapBytes() >> 20);
+        } finally {
+            if (args.length > 0) {
+                csv.close();
+            } else {
+                csv.flush();
+            }
+        }
+    }
+}
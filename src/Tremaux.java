@@ -0,0 +1,164 @@
+import java.util.Arrays;
+import java.util.random.RandomGenerator;
+
+/**
+ * Class that creates a mouse that finds the cheese with Tremaux's algorithm,
+ * which works in any maze, loops and all, and never walks a passage more than
+ * twice.
+ *
+ * The mouse marks each passage between two cells as it walks it. Arriving by
+ * a passage walked once at a cell it has been in before, it turns straight
+ * back. Otherwise it takes a passage it has not walked yet, picked at random,
+ * or if there is none, the passage it first came in by, which it never takes
+ * before the others. A passage walked twice is never taken again. If the
+ * cheese cannot be reached the mouse ends up back where it started with
+ * every passage walked twice, and gives up.
+ *
+ * The marks are held two bits each in a byte for every cell: the passage to
+ * the east of the cell in the low bits and the passage to the south above
+ * them. The marks are forgotten whenever the mouse is put down again.
+ *
+ * @author Michael Quested
+ * @version 1.1
+ * @date 2026/10/18
+ */
+public class Tremaux extends Mouse {
+
+    private final RandomGenerator random;
+    private final int width;
+    private final int[] offsets;
+    private final int[] choices = new int[4];
+    private byte[] marks;
+    private int from = -1;
+
+    /**
+     * Constructor for class Tremaux, choosing passages at random seeded from
+     * the maze.
+     *
+     * @param maze The maze that the mouse will be navigating.
+     */
+    public Tremaux(Maze maze) {
+        this(maze, maze.newMouseRandom());
+    }
+
+    /**
+     * Constructor for class Tremaux, choosing passages from the given source
+     * of randomness, so that a run can be repeated.
+     *
+     * @param maze The maze that the mouse will be navigating.
+     * @param random The source of randomness for choosing passages
+     */
+    public Tremaux(Maze maze, RandomGenerator random) {
+        super(maze);
+        this.random = random;
+        width = maze.getWidth();
+        offsets = new int[] {-width, 1, width, -1};
+    }
+
+    /**
+     * Walk the next passage by Tremaux's rules, marking it.
+     */
+    @Override
+    public void move() {
+        if (marks == null) {
+            marks = new byte[width * maze.getDepth()];
+        }
+        int cell = currentPosY * width + currentPosX;
+        int side = -1;
+        if (from >= 0 && mark(cell, from) == 1 && isVisited(cell)) {
+            side = from;
+        } else {
+            int count = 0;
+            for (int s = 0; s < 4; s++) {
+                if (mark(cell, s) == 0 && maze.isPassageAt(cell + offsets[s])) {
+                    choices[count++] = s;
+                }
+            }
+            if (count > 0) {
+                side = choices[count == 1 ? 0 : random.nextInt(count)];
+            } else {
+                for (int s = 0; s < 4; s++) {
+                    if (mark(cell, s) == 1) {
+                        side = s;
+                    }
+                }
+            }
+        }
+        if (side < 0) {
+            giveUp();
+            return;
+        }
+        addMark(cell, side);
+        cell += offsets[side];
+        from = side ^ 2;
+        currentPosX = cell % width;
+        currentPosY = cell / width;
+    }
+
+    /**
+     * Check if the mouse had been in a cell before it arrived by the passage
+     * it came in by, from a mark on any other passage.
+     */
+    private boolean isVisited(int cell) {
+        for (int s = 0; s < 4; s++) {
+            if (s != from && mark(cell, s) != 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Get the number of times the passage on a side of a cell has been
+     * walked.
+     *
+     * @param side 0 for north, 1 for east, 2 for south, 3 for west
+     */
+    private int mark(int cell, int side) {
+        switch (side) {
+            case 0:
+                return marks[cell - width] >> 2 & 3;
+            case 1:
+                return marks[cell] & 3;
+            case 2:
+                return marks[cell] >> 2 & 3;
+            default:
+                return marks[cell - 1] & 3;
+        }
+    }
+
+    /**
+     * Count another walk along the passage on a side of a cell.
+     */
+    private void addMark(int cell, int side) {
+        switch (side) {
+            case 0:
+                marks[cell - width] += 4;
+                break;
+            case 1:
+                marks[cell] += 1;
+                break;
+            case 2:
+                marks[cell] += 4;
+                break;
+            default:
+                marks[cell - 1] += 1;
+                break;
+        }
+    }
+
+    /**
+     * Put the mouse down at the specified coordinates, forgetting its marks.
+     *
+     * @param x The grid position x of the mouse
+     * @param y The grid position y of the mouse
+     */
+    @Override
+    public void setPosition(int x, int y) {
+        super.setPosition(x, y);
+        if (marks != null) {
+            Arrays.fill(marks, (byte) 0);
+        }
+        from = -1;
+    }
+}
@@ -1,28 +1,49 @@
 
-import java.util.Random;
+import java.util.random.RandomGenerator;
 
 /**
  * Class that creates a mouse that uses a wall following algorithm to navigate a
  * 2-D grid-based simply-connected maze.
  *
+ * In a maze with loops the mouse can follow a wall round an island for ever.
+ * Each move follows from the mouse's cell and bearing alone, so it records
+ * every state it has been in, one bit each in a grid four bits wide for each
+ * cell, and gives up as soon as it is in a state for the second time, which
+ * happens within four moves a cell. States are forgotten whenever the mouse
+ * is put down again. They are not recorded in mazes of more than
+ * MAX_TRACKED_CELLS cells, where only the step budget stops the mouse, or
+ * kept up to date with walls changed while it runs.
+ *
  * @author Michael Quested
  * @version 1.0
  * @date 2012/12/18
  */
 public class WallFollower extends Mouse {
 
+    public final static long MAX_TRACKED_CELLS = 1L << 28;
     private final static String[] directions = {"NORTH", "SOUTH", "EAST", "WEST"};
     private String bearing;
+    private BitGrid states;
 
     /**
      * Constructor for class WallFollower. Sets a random initial bearing in 
-     * which to travel.
+     * which to travel, seeded from the maze.
      *
      * @param maze The maze that the mouse will be navigating.
      */
     public WallFollower(Maze maze) {
+        this(maze, maze.newMouseRandom());
+    }
+
+    /**
+     * Constructor for class WallFollower. Sets the initial bearing from the
+     * given source of randomness, so that a run can be repeated.
+     *
+     * @param maze The maze that the mouse will be navigating.
+     * @param random The source of randomness for the initial bearing
+     */
+    public WallFollower(Maze maze, RandomGenerator random) {
         super(maze);
-        Random random = new Random();
         bearing = directions[random.nextInt(4)];
     }
 
@@ -32,14 +53,18 @@ public class WallFollower extends Mouse {
      */
     @Override
     public void move() {
+        if (isRepeated()) {
+            giveUp();
+            return;
+        }
         switch (bearing) {
             case "NORTH":
-                if (maze.coordinates[currentPosX + 1][currentPosY]) {
+                if (maze.isPassage(currentPosX + 1, currentPosY)) {
                     bearing = "EAST";
                     currentPosX += 1;
-                } else if (maze.coordinates[currentPosX][currentPosY - 1]) {
+                } else if (maze.isPassage(currentPosX, currentPosY - 1)) {
                     currentPosY -= 1;
-                } else if (maze.coordinates[currentPosX - 1][currentPosY]) {
+                } else if (maze.isPassage(currentPosX - 1, currentPosY)) {
                     bearing = "WEST";
                     currentPosX -= 1;
                 } else {
@@ -48,12 +73,12 @@ public class WallFollower extends Mouse {
                 }
                 break;
             case "EAST":
-                if (maze.coordinates[currentPosX][currentPosY + 1]) {
+                if (maze.isPassage(currentPosX, currentPosY + 1)) {
                     bearing = "SOUTH";
                     currentPosY += 1;
-                } else if (maze.coordinates[currentPosX + 1][currentPosY]) {
+                } else if (maze.isPassage(currentPosX + 1, currentPosY)) {
                     currentPosX += 1;
-                } else if (maze.coordinates[currentPosX][currentPosY - 1]) {
+                } else if (maze.isPassage(currentPosX, currentPosY - 1)) {
                     bearing = "NORTH";
                     currentPosY -= 1;
                 } else {
@@ -62,12 +87,12 @@ public class WallFollower extends Mouse {
                 }
                 break;
             case "SOUTH":
-                if (maze.coordinates[currentPosX - 1][currentPosY]) {
+                if (maze.isPassage(currentPosX - 1, currentPosY)) {
                     bearing = "WEST";
                     currentPosX -= 1;
-                } else if (maze.coordinates[currentPosX][currentPosY + 1]) {
+                } else if (maze.isPassage(currentPosX, currentPosY + 1)) {
                     currentPosY += 1;
-                } else if (maze.coordinates[currentPosX + 1][currentPosY]) {
+                } else if (maze.isPassage(currentPosX + 1, currentPosY)) {
                     bearing = "EAST";
                     currentPosX += 1;
                 } else {
@@ -76,12 +101,12 @@ public class WallFollower extends Mouse {
                 }
                 break;
             case "WEST":
-                if (maze.coordinates[currentPosX][currentPosY - 1]) {
+                if (maze.isPassage(currentPosX, currentPosY - 1)) {
                     bearing = "NORTH";
                     currentPosY -= 1;
-                } else if (maze.coordinates[currentPosX - 1][currentPosY]) {
+                } else if (maze.isPassage(currentPosX - 1, currentPosY)) {
                     currentPosX -= 1;
-                } else if (maze.coordinates[currentPosX][currentPosY + 1]) {
+                } else if (maze.isPassage(currentPosX, currentPosY + 1)) {
                     bearing = "SOUTH";
                     currentPosY += 1;
                 } else {
@@ -91,4 +116,52 @@ public class WallFollower extends Mouse {
                 break;
         }
     }
+
+    /**
+     * Record the mouse's cell and bearing, checking if it has been in that
+     * state before.
+     *
+     * @return true if the state is repeated, false if it is new or states
+     * are not being recorded
+     */
+    private boolean isRepeated() {
+        if (states == null) {
+            if ((long) maze.getWidth() * maze.getDepth() > MAX_TRACKED_CELLS) {
+                return false;
+            }
+            states = new BitGrid(4 * maze.getWidth(), maze.getDepth());
+        }
+        int x = 4 * currentPosX;
+        switch (bearing) {
+            case "SOUTH":
+                x += 1;
+                break;
+            case "EAST":
+                x += 2;
+                break;
+            case "WEST":
+                x += 3;
+                break;
+        }
+        if (states.get(x, currentPosY)) {
+            return true;
+        }
+        states.set(x, currentPosY, true);
+        return false;
+    }
+
+    /**
+     * Put the mouse down at the specified coordinates, forgetting the states
+     * it has been in.
+     *
+     * @param x The grid position x of the mouse
+     * @param y The grid position y of the mouse
+     */
+    @Override
+    public void setPosition(int x, int y) {
+        super.setPosition(x, y);
+        if (states != null) {
+            states.clear();
+        }
+    }
 }
\ No newline at end of file
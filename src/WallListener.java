@@ -0,0 +1,20 @@
+/**
+ * An observer of the walls of a maze, notified whenever a cell is opened into
+ * a passage or closed into a wall after the maze was generated.
+ *
+ * @author Michael Quested
+ * @version 1.1
+ * @date 2026/10/18
+ */
+public interface WallListener {
+
+    /**
+     * Called when a cell of the maze has changed. Called on the thread that
+     * changed it, while other changes wait, so it should return quickly.
+     *
+     * @param x The grid position x of the cell
+     * @param y The grid position y of the cell
+     * @param passage true if the cell is now a passage, false if a wall
+     */
+    void wallChanged(int x, int y, boolean passage);
+}
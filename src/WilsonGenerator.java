@@ -0,0 +1,71 @@
+import java.util.random.RandomGenerator;
+
+/**
+ * Generates maze coordinates using Wilson's algorithm, which picks uniformly
+ * among every perfect maze of the size, unlike the other generators whose
+ * mazes lean towards long corridors or short dead ends.
+ *
+ * The maze starts as a single random cell. From each cell not yet in it, a
+ * random walk wanders until it reaches the maze, recording at every cell the
+ * direction it last left by; following those directions from the start of
+ * the walk gives the walk with its loops erased, which is carved into the
+ * maze. A cell is in the maze once it is a passage.
+ *
+ * @author Michael Quested
+ * @version 1.1
+ * @date 2026/10/18
+ */
+public class WilsonGenerator implements Generator {
+
+    private byte[] exits = new byte[0];
+
+    /**
+     * Add the loop-erased walk from every cell outside the maze until every
+     * cell is in it.
+     */
+    @Override
+    public void generate(Maze maze, RandomGenerator random) {
+        int columns = maze.getWidth() / 2;
+        int rows = maze.getDepth() / 2;
+        int cells = columns * rows;
+        if (exits.length < cells) {
+            exits = new byte[cells];
+        }
+        int first = random.nextInt(cells);
+        maze.setPassage(2 * (first % columns) + 1, 2 * (first / columns) + 1, true);
+        long visits = 0;
+
+        for (int start = 0; start < cells; start++) {
+            int x = start % columns;
+            int y = start / columns;
+            if (maze.isCarved(2 * x + 1, 2 * y + 1)) {
+                continue;
+            }
+            // Walk until the maze is reached, recording each cell's exit.
+            while (!maze.isCarved(2 * x + 1, 2 * y + 1)) {
+                int exit;
+                do {
+                    exit = random.nextInt(4);
+                } while ((exit == 0 && y == 0) || (exit == 1 && x == columns - 1)
+                        || (exit == 2 && y == rows - 1) || (exit == 3 && x == 0));
+                exits[y * columns + x] = (byte) exit;
+                x += exit == 1 ? 1 : exit == 3 ? -1 : 0;
+                y += exit == 2 ? 1 : exit == 0 ? -1 : 0;
+                visits++;
+            }
+            // Carve the walk again, following only the last exit of each cell.
+            x = start % columns;
+            y = start / columns;
+            while (!maze.isCarved(2 * x + 1, 2 * y + 1)) {
+                int exit = exits[y * columns + x];
+                int dx = exit == 1 ? 1 : exit == 3 ? -1 : 0;
+                int dy = exit == 2 ? 1 : exit == 0 ? -1 : 0;
+                maze.setPassage(2 * x + 1, 2 * y + 1, true);
+                maze.setPassage(2 * x + 1 + dx, 2 * y + 1 + dy, true);
+                x += dx;
+                y += dy;
+            }
+        }
+        maze.countVisited(visits);
+    }
+}